@@ -0,0 +1,30 @@
+package ropold.backend.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ropold.backend.model.GameFinishRequest;
+import ropold.backend.model.GameResult;
+import ropold.backend.model.GameStart;
+import ropold.backend.model.GameStartRequest;
+import ropold.backend.service.GameService;
+
+@RestController
+@RequestMapping("/api/game")
+@RequiredArgsConstructor
+public class GameController {
+
+    private final GameService gameService;
+
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("/start")
+    public GameStart startGame(@RequestBody(required = false) GameStartRequest gameStartRequest) {
+        return gameService.startGame(gameStartRequest == null ? null : gameStartRequest.categoryEnum());
+    }
+
+    @PostMapping("/{id}/finish")
+    public GameResult finishGame(@PathVariable String id, @RequestBody @Valid GameFinishRequest gameFinishRequest) {
+        return gameService.finishGame(id, gameFinishRequest);
+    }
+}
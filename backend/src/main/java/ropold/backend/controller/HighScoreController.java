@@ -3,9 +3,22 @@ package ropold.backend.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ropold.backend.model.DailyScoreAggregate;
 import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreRank;
+import ropold.backend.model.HighScoreSubmission;
+import ropold.backend.model.LeaderboardPeriod;
+import ropold.backend.model.ScoreStats;
+import ropold.backend.service.GameService;
 import ropold.backend.service.HighScoreService;
+import ropold.backend.service.LeaderboardBroadcaster;
+import ropold.backend.service.ScoreHistoryService;
+import ropold.backend.service.ScoreStatisticsService;
 
 import java.util.List;
 
@@ -13,17 +26,64 @@ import java.util.List;
 @RequestMapping("api/high-score")
 @RequiredArgsConstructor
 public class HighScoreController {
+    // provisional place on the category board; the write itself is persisted in the background
+    private static final String RANK_HEADER = "X-High-Score-Rank";
+
     private final HighScoreService highScoreService;
+    private final GameService gameService;
+    private final LeaderboardBroadcaster leaderboardBroadcaster;
+    private final ScoreHistoryService scoreHistoryService;
+    private final ScoreStatisticsService scoreStatisticsService;
 
     @GetMapping()
-    public List<HighScoreModel> getHighScoresByDifficulty() {
-        return highScoreService.getAllHighScores();
+    public List<HighScoreModel> getHighScoresByDifficulty(@RequestParam(required = false) String category,
+                                                          @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period,
+                                                          WebRequest webRequest) {
+        if (webRequest.checkNotModified(highScoreService.getHighScoresEtag())) {
+            return null;
+        }
+        if (category == null) {
+            return highScoreService.getAllHighScores(period);
+        }
+        return highScoreService.getHighScores(category, period);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamHighScores() {
+        return leaderboardBroadcaster.subscribe();
+    }
+
+    @GetMapping("/history/daily")
+    public List<DailyScoreAggregate> getDailyHistory(@RequestParam(required = false) String category,
+                                                     @RequestParam(defaultValue = "30") int days) {
+        return scoreHistoryService.getDailyAggregates(category, days);
+    }
+
+    @GetMapping("/stats")
+    public ScoreStats getStats(@RequestParam(required = false) String category,
+                               @RequestParam(required = false) Integer wrong,
+                               @RequestParam(required = false) Double time) {
+        return scoreStatisticsService.getStats(category, wrong, time);
+    }
+
+    @GetMapping("/rank")
+    public HighScoreRank getRank(@RequestParam int wrong,
+                                 @RequestParam double time,
+                                 @RequestParam(required = false) String category,
+                                 @RequestParam(defaultValue = "ALL_TIME") LeaderboardPeriod period) {
+        return highScoreService.getRank(wrong, time, category, period);
     }
 
-    @ResponseStatus(HttpStatus.CREATED)
+    // Time and wrong answers are taken from the finished game session; the body only contributes the name.
+    // A score without a gameId is rejected with 400, the client has to play through /api/game.
     @PostMapping()
-    public HighScoreModel addHighScore(@RequestBody @Valid HighScoreModel highScoreModel) {
-        return highScoreService.addHighScore(highScoreModel);
+    public ResponseEntity<HighScoreModel> addHighScore(@RequestBody @Valid HighScoreModel highScoreModel,
+                                                       @RequestParam String gameId) {
+        HighScoreSubmission submission = gameService.submitHighScore(
+                gameId, highScoreModel.playerName(), highScoreModel.githubId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(RANK_HEADER, String.valueOf(submission.rank()))
+                .body(submission.highScoreModel());
     }
 
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -0,0 +1,53 @@
+package ropold.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ropold.backend.model.AppUserCacheStats;
+import ropold.backend.model.GameSessionStats;
+import ropold.backend.model.HighScoreWriterStats;
+import ropold.backend.model.QuestionCacheStats;
+import ropold.backend.model.RateLimiterStats;
+import ropold.backend.security.RateLimiter;
+import ropold.backend.service.ActiveQuestionCache;
+import ropold.backend.service.AppUserCache;
+import ropold.backend.service.GameSessionStore;
+import ropold.backend.service.HighScoreWriter;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ActiveQuestionCache activeQuestionCache;
+    private final HighScoreWriter highScoreWriter;
+    private final GameSessionStore gameSessionStore;
+    private final RateLimiter rateLimiter;
+    private final AppUserCache appUserCache;
+
+    @GetMapping("/question-cache")
+    public QuestionCacheStats getQuestionCacheStats() {
+        return activeQuestionCache.getStats();
+    }
+
+    @GetMapping("/high-score-writer")
+    public HighScoreWriterStats getHighScoreWriterStats() {
+        return highScoreWriter.getStats();
+    }
+
+    @GetMapping("/game-sessions")
+    public GameSessionStats getGameSessionStats() {
+        return gameSessionStore.getStats();
+    }
+
+    @GetMapping("/rate-limit")
+    public RateLimiterStats getRateLimiterStats() {
+        return rateLimiter.getStats();
+    }
+
+    @GetMapping("/user-cache")
+    public AppUserCacheStats getAppUserCacheStats() {
+        return appUserCache.getStats();
+    }
+}
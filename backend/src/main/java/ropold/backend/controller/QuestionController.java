@@ -1,21 +1,37 @@
 package ropold.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ropold.backend.exception.QuestionNotFoundException;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.FavoriteCount;
+import ropold.backend.model.QuestionImportResult;
 import ropold.backend.model.QuestionModel;
 import ropold.backend.model.QuestionModelDto;
+import ropold.backend.model.QuestionPage;
+import ropold.backend.model.QuestionStatsModel;
 import ropold.backend.service.CloudinaryService;
+import ropold.backend.service.QuestionImportService;
+import ropold.backend.service.QuestionPopularityTracker;
 import ropold.backend.service.QuestionService;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/word-link-hub")
@@ -24,17 +40,112 @@ public class QuestionController {
 
     private final QuestionService questionService;
     private final CloudinaryService cloudinaryService;
+    private final QuestionImportService questionImportService;
+    private final QuestionPopularityTracker questionPopularityTracker;
+    private final ObjectMapper objectMapper;
+    private static final int MAX_DECK_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping
-    public List<QuestionModel> getAllQuestions() {
+    public List<QuestionModel> getAllQuestions(WebRequest webRequest) {
+        if (webRequest.checkNotModified(questionService.getQuestionsEtag())) {
+            return null;
+        }
         return questionService.getAllQuestions();
     }
 
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<byte[]> getAllQuestionSummaries(WebRequest webRequest) {
+        if (webRequest.checkNotModified(questionService.getQuestionsEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(questionService.getAllQuestionSummariesJson());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllQuestions() {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<QuestionModel> questionModels = questionService.streamAllQuestions()) {
+                Iterator<QuestionModel> iterator = questionModels.iterator();
+                boolean first = true;
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                    if (first) {
+                        outputStream.flush();
+                        first = false;
+                    }
+                }
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(params = "limit")
+    public QuestionPage getQuestionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        return questionService.getQuestionPage(cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
     @GetMapping("/active")
-    public List<QuestionModel> getActiveQuestions() {
+    public List<QuestionModel> getActiveQuestions(WebRequest webRequest) {
+        if (webRequest.checkNotModified(questionService.getQuestionsEtag())) {
+            return null;
+        }
         return questionService.getActiveQuestions();
     }
 
+    @GetMapping(value = "/active", params = "view=summary")
+    public ResponseEntity<byte[]> getActiveQuestionSummaries(WebRequest webRequest) {
+        if (webRequest.checkNotModified(questionService.getQuestionsEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(questionService.getActiveQuestionSummariesJson());
+    }
+
+    @GetMapping(value = "/active", params = "limit")
+    public QuestionPage getActiveQuestionPage(
+            @RequestParam(required = false) CategoryEnum category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        return questionService.getActiveQuestionPage(category, cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/deck")
+    public List<QuestionModel> getRandomDeck(
+            @RequestParam(required = false) CategoryEnum category,
+            @RequestParam(defaultValue = "10") int size) {
+        return questionService.getRandomDeck(category, Math.clamp(size, 1, MAX_DECK_SIZE));
+    }
+
+    @GetMapping("/search")
+    public List<QuestionModel> searchQuestions(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) CategoryEnum category,
+            @RequestParam(defaultValue = "20") int limit) {
+        return questionService.searchQuestions(query, category, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/popular")
+    public List<QuestionStatsModel> getPopularQuestions(
+            @RequestParam(required = false) CategoryEnum category,
+            @RequestParam(defaultValue = "20") int limit) {
+        return questionPopularityTracker.getPopular(category, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/{id}/favorites/count")
+    public FavoriteCount getFavoriteCount(@PathVariable String id) {
+        return questionService.getFavoriteCount(id);
+    }
+
     @GetMapping("/{id}")
     public QuestionModel getQuestionById(@PathVariable String id) {
         QuestionModel questionModel = questionService.getQuestionById(id);
@@ -95,24 +206,31 @@ public class QuestionController {
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("/bulk")
-    public List<QuestionModel> addQuestionsWithNoLogin(
+    public List<QuestionImportResult> addQuestionsWithNoLogin(
             @RequestBody List<QuestionModelDto> questionModelDtos) {
 
-        return questionModelDtos.stream()
-                .map(dto -> questionService.addQuestion(
-                        new QuestionModel(
-                                null,
-                                dto.title(),
-                                dto.categoryEnum(),
-                                dto.clueWords(),
-                                dto.solutionWord(),
-                                dto.answerExplanation(),
-                                dto.isActive(),
-                                dto.githubId(),
-                                null
-                        )
+        return questionService.addQuestions(questionModelDtos.stream()
+                .map(dto -> new QuestionModel(
+                        null,
+                        dto.title(),
+                        dto.categoryEnum(),
+                        dto.clueWords(),
+                        dto.solutionWord(),
+                        dto.answerExplanation(),
+                        dto.isActive(),
+                        dto.githubId(),
+                        null
                 ))
-                .toList();
+                .toList());
+    }
+
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importQuestions(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        questionImportService.importQuestions(request.getInputStream(), response.getOutputStream());
     }
 
     @PutMapping("/{id}")
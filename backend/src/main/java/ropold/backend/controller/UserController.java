@@ -7,8 +7,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import ropold.backend.exception.AccessDeniedException;
+import ropold.backend.model.FavoriteChange;
 import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionPage;
+import ropold.backend.model.QuestionSummary;
 import ropold.backend.service.AppUserService;
+import ropold.backend.service.FavoriteQuestionResolver;
 import ropold.backend.service.QuestionService;
 
 import java.util.List;
@@ -21,6 +25,8 @@ public class UserController {
 
     private final QuestionService questionService;
     private final AppUserService appUserService;
+    private final FavoriteQuestionResolver favoriteQuestionResolver;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping(value = "/me", produces = "text/plain")
     public String getMe() {
@@ -37,8 +43,7 @@ public class UserController {
 
     @GetMapping("/favorites")
     public List<QuestionModel> getUserFavorites(@AuthenticationPrincipal OAuth2User authentication) {
-        List<String> favoritePieceImageIds = appUserService.getUserFavoriteQuestions(authentication.getName());
-        return questionService.getQuestionsByIds(favoritePieceImageIds);
+        return favoriteQuestionResolver.getFavoriteQuestions(authentication.getName());
     }
 
     @GetMapping("/me/my-questions/{githubId}")
@@ -46,18 +51,31 @@ public class UserController {
         return questionService.getQuestionsForGithubUser(githubId);
     }
 
+    // a summary request that also asks for a page is served by the paged mapping below
+    @GetMapping(value = "/me/my-questions/{githubId}", params = {"view=summary", "!limit"})
+    public List<QuestionSummary> getQuestionSummariesForGithubUser(@PathVariable String githubId) {
+        return questionService.getQuestionSummariesForGithubUser(githubId);
+    }
+
+    @GetMapping(value = "/me/my-questions/{githubId}", params = "limit")
+    public QuestionPage getQuestionPageForGithubUser(
+            @PathVariable String githubId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit) {
+        return questionService.getQuestionPageForGithubUser(githubId, cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
     @PostMapping("/favorites/{questionId}")
     @ResponseStatus(HttpStatus.CREATED)
-    public void addQuestionToFavorites(@PathVariable String questionId, @AuthenticationPrincipal OAuth2User authentication) {
+    public FavoriteChange addQuestionToFavorites(@PathVariable String questionId, @AuthenticationPrincipal OAuth2User authentication) {
         String authenticatedUserId = authentication.getName();
-        appUserService.addQuestionToFavoriteQuestions(authenticatedUserId, questionId);
+        return appUserService.addQuestionToFavoriteQuestions(authenticatedUserId, questionId);
     }
 
     @DeleteMapping("/favorites/{questionId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void removeQuestionFromFavorites(@PathVariable String questionId, @AuthenticationPrincipal OAuth2User authentication) {
+    public FavoriteChange removeQuestionFromFavorites(@PathVariable String questionId, @AuthenticationPrincipal OAuth2User authentication) {
         String authenticatedUserId = authentication.getName();
-        appUserService.removeQuestionFromFavoriteQuestions(authenticatedUserId, questionId);
+        return appUserService.removeQuestionFromFavoriteQuestions(authenticatedUserId, questionId);
     }
 
     @PutMapping("/{id}/toggle-active")
@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class GameNotFinishedException extends RuntimeException {
+    public GameNotFinishedException(String message) {
+        super(message);
+    }
+}
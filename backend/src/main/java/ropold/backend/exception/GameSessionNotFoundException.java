@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class GameSessionNotFoundException extends RuntimeException {
+    public GameSessionNotFoundException(String message) {
+        super(message);
+    }
+}
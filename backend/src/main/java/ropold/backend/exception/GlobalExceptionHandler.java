@@ -6,6 +6,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +22,48 @@ public class GlobalExceptionHandler {
         return new QuestionError(e.getMessage());
     }
 
+    @ExceptionHandler(GameSessionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public QuestionError handleGameSessionNotFoundException(GameSessionNotFoundException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(GameNotFinishedException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public QuestionError handleGameNotFinishedException(GameNotFinishedException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(NotEnoughQuestionsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public QuestionError handleNotEnoughQuestionsException(NotEnoughQuestionsException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(HighScoreWriterBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public QuestionError handleHighScoreWriterBusyException(HighScoreWriterBusyException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public QuestionError handleInvalidCursorException(InvalidCursorException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCategoryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public QuestionError handleInvalidCategoryException(InvalidCategoryException e) {
+        return new QuestionError(e.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public QuestionError handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        return new QuestionError("Invalid value for parameter '" + e.getName() + "'");
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public QuestionError handleRuntimeException(RuntimeException e) {
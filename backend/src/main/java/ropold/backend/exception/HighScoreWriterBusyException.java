@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class HighScoreWriterBusyException extends RuntimeException {
+    public HighScoreWriterBusyException(String message) {
+        super(message);
+    }
+}
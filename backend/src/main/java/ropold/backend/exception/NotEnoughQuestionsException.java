@@ -0,0 +1,7 @@
+package ropold.backend.exception;
+
+public class NotEnoughQuestionsException extends RuntimeException {
+    public NotEnoughQuestionsException(String message) {
+        super(message);
+    }
+}
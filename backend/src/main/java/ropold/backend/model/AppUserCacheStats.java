@@ -0,0 +1,10 @@
+package ropold.backend.model;
+
+public record AppUserCacheStats(
+        int size,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
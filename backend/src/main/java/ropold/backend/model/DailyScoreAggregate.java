@@ -0,0 +1,20 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Document("dailyScoreAggregates")
+@CompoundIndex(name = "category_day", def = "{'categoryEnum': 1, 'day': 1}")
+public record DailyScoreAggregate(
+        String id,
+        LocalDate day,
+        String categoryEnum,
+        long games,
+        long perfectGames,
+        double bestScoreTime,
+        double averageScoreTime,
+        double averageWrongAnswerCount
+) {
+}
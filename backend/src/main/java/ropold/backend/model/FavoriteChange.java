@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public record FavoriteChange(
+        String questionId,
+        boolean favorite,
+        boolean changed
+) {
+}
@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public record FavoriteCount(
+        String questionId,
+        long count
+) {
+}
@@ -0,0 +1,13 @@
+package ropold.backend.model;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record GameFinishRequest(
+        List<String> answers,
+        @Size(min = 3, message = "Name must contain at least 3 characters")
+        String playerName,
+        String githubId
+) {
+}
@@ -0,0 +1,12 @@
+package ropold.backend.model;
+
+public record GameResult(
+        String gameId,
+        String categoryEnum,
+        int wrongAnswerCount,
+        double scoreTime,
+        int rank,
+        boolean qualifies,
+        String highScoreId
+) {
+}
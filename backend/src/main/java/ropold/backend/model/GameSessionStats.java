@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public record GameSessionStats(
+        int active,
+        long started,
+        long expired
+) {
+}
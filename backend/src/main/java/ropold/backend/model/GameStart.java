@@ -0,0 +1,10 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+public record GameStart(
+        String gameId,
+        String categoryEnum,
+        List<QuestionModel> questions
+) {
+}
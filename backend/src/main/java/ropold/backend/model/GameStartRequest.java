@@ -0,0 +1,6 @@
+package ropold.backend.model;
+
+public record GameStartRequest(
+        String categoryEnum
+) {
+}
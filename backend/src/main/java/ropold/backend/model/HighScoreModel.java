@@ -3,9 +3,17 @@ package ropold.backend.model;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "category_ranking", def = "{'categoryEnum': 1, 'wrongAnswerCount': 1, 'scoreTime': 1}"),
+        @CompoundIndex(name = "category_date", def = "{'categoryEnum': 1, 'date': -1}")
+})
 public record HighScoreModel(
         String id,
         @NotBlank(message = "Player name must not be blank")
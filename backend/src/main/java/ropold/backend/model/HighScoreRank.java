@@ -0,0 +1,8 @@
+package ropold.backend.model;
+
+public record HighScoreRank(
+        String categoryEnum,
+        int rank,
+        boolean qualifies
+) {
+}
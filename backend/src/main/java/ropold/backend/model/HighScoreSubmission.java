@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public record HighScoreSubmission(
+        HighScoreModel highScoreModel,
+        int rank
+) {
+}
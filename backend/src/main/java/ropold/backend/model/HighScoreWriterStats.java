@@ -0,0 +1,16 @@
+package ropold.backend.model;
+
+public record HighScoreWriterStats(
+        int queueDepth,
+        int queueCapacity,
+        long batches,
+        long written,
+        long coalesced,
+        long failed,
+        long failedBatches,
+        long rejected,
+        long lastFlushMillis,
+        long maxFlushMillis,
+        long totalFlushMillis
+) {
+}
@@ -0,0 +1,15 @@
+package ropold.backend.model;
+
+public record LeaderboardEvent(
+        String type,
+        String categoryEnum,
+        LeaderboardPeriod period,
+        long version,
+        String id,
+        int rank,
+        HighScoreModel highScoreModel
+) {
+    public static final String ADDED = "added";
+    public static final String REMOVED = "removed";
+    public static final String RESET = "reset";
+}
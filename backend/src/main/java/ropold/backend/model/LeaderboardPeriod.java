@@ -0,0 +1,7 @@
+package ropold.backend.model;
+
+public enum LeaderboardPeriod {
+    DAILY,
+    WEEKLY,
+    ALL_TIME
+}
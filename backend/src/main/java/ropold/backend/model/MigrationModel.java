@@ -0,0 +1,13 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Marks a one-time data migration as done, so startup jobs don't repeat it.
+@Document("migrations")
+public record MigrationModel(
+        String id,
+        LocalDateTime completedAt
+) {
+}
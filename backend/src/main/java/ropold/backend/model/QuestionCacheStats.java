@@ -0,0 +1,10 @@
+package ropold.backend.model;
+
+public record QuestionCacheStats(
+        long version,
+        int size,
+        long hits,
+        long misses,
+        long rebuilds
+) {
+}
@@ -0,0 +1,14 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One document per (question, user) pair; the id is derived from both so writes are idempotent.
+@Document("questionFavorites")
+@CompoundIndex(name = "question_user", def = "{'questionId': 1, 'userId': 1}", unique = true)
+public record QuestionFavoriteModel(
+        String id,
+        String questionId,
+        String userId
+) {
+}
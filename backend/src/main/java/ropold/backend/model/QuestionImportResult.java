@@ -0,0 +1,9 @@
+package ropold.backend.model;
+
+public record QuestionImportResult(
+        int index,
+        String id,
+        boolean success,
+        String error
+) {
+}
@@ -1,7 +1,17 @@
 package ropold.backend.model;
 
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.util.List;
 
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "active_id", def = "{'isActive': 1, '_id': 1}"),
+        @CompoundIndex(name = "active_category_id", def = "{'isActive': 1, 'categoryEnum': 1, '_id': 1}"),
+        @CompoundIndex(name = "github_id", def = "{'githubId': 1, '_id': 1}")
+})
 public record QuestionModel(
         String id,
         String title,
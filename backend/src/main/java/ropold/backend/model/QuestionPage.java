@@ -0,0 +1,10 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+public record QuestionPage(
+        List<QuestionModel> questions,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,20 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document("questionStats")
+@CompoundIndexes({
+        @CompoundIndex(name = "popular", def = "{'favorites': -1, 'plays': -1}"),
+        @CompoundIndex(name = "category_popular", def = "{'categoryEnum': 1, 'favorites': -1, 'plays': -1}")
+})
+public record QuestionStatsModel(
+        String id,
+        CategoryEnum categoryEnum,
+        long favorites,
+        long plays,
+        long correctAnswers,
+        long wrongAnswers
+) {
+}
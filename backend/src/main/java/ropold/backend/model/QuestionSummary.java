@@ -0,0 +1,11 @@
+package ropold.backend.model;
+
+public record QuestionSummary(
+        String id,
+        String title,
+        CategoryEnum categoryEnum,
+        boolean isActive,
+        String githubId,
+        String imageUrl
+) {
+}
@@ -0,0 +1,11 @@
+package ropold.backend.model;
+
+public record RateLimiterStats(
+        long allowed,
+        long rejected,
+        int buckets,
+        long evicted,
+        long averageOverheadNanos,
+        long maxOverheadNanos
+) {
+}
@@ -0,0 +1,24 @@
+package ropold.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// Every submitted game, accepted on a leaderboard or not. Raw entries expire; daily aggregates are kept.
+@Document("scoreHistory")
+@CompoundIndex(name = "category_submitted", def = "{'categoryEnum': 1, 'submittedAt': 1}")
+public record ScoreHistoryModel(
+        String id,
+        String playerName,
+        String githubId,
+        String categoryEnum,
+        int wrongAnswerCount,
+        double scoreTime,
+        LocalDateTime date,
+        @Indexed(name = "submitted_ttl", expireAfter = "400d")
+        Instant submittedAt
+) {
+}
@@ -0,0 +1,17 @@
+package ropold.backend.model;
+
+import java.util.List;
+
+public record ScoreStats(
+        String categoryEnum,
+        long games,
+        double scoreTimeMedian,
+        double scoreTimeP90,
+        int wrongAnswerMedian,
+        int wrongAnswerP90,
+        Double beatenPercent,
+        double scoreTimeBucketSeconds,
+        List<Long> scoreTimeBuckets,
+        List<Long> wrongAnswerBuckets
+) {
+}
@@ -0,0 +1,17 @@
+package ropold.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ropold.backend.model.DailyScoreAggregate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyScoreAggregateRepository extends MongoRepository<DailyScoreAggregate, String> {
+
+    List<DailyScoreAggregate> findAllByCategoryEnumAndDayGreaterThanEqualOrderByDayAsc(String categoryEnum, LocalDate day);
+
+    List<DailyScoreAggregate> findAllByDayGreaterThanEqualOrderByDayAsc(LocalDate day);
+
+    Optional<DailyScoreAggregate> findFirstByOrderByDayDesc();
+}
@@ -3,10 +3,16 @@ package ropold.backend.repository;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import ropold.backend.model.HighScoreModel;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface HighScoreRepository extends MongoRepository<HighScoreModel,String> {
 
     List<HighScoreModel> findAllByOrderByWrongAnswerCountAscScoreTimeAsc();
 
+    List<HighScoreModel> findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc(String categoryEnum);
+
+    List<HighScoreModel> findAllByCategoryEnumAndDateGreaterThanEqualOrderByWrongAnswerCountAscScoreTimeAsc(
+            String categoryEnum, LocalDateTime date);
+
 }
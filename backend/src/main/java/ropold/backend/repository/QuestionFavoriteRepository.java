@@ -0,0 +1,15 @@
+package ropold.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ropold.backend.model.QuestionFavoriteModel;
+
+import java.util.List;
+
+public interface QuestionFavoriteRepository extends MongoRepository<QuestionFavoriteModel, String> {
+
+    List<QuestionFavoriteModel> findAllByQuestionId(String questionId);
+
+    long countByQuestionId(String questionId);
+
+    void deleteAllByQuestionId(String questionId);
+}
@@ -1,7 +1,31 @@
 package ropold.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.QuestionModel;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface QuestionRepository extends MongoRepository<QuestionModel, String> {
+
+    Stream<QuestionModel> streamAllBy();
+
+    <T> List<T> findAllBy(Class<T> type);
+
+    <T> List<T> findAllByGithubId(String githubId, Class<T> type);
+
+    List<QuestionModel> findAllByIsActiveTrue();
+
+    List<QuestionModel> findAllByGithubId(String githubId);
+
+    List<QuestionModel> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<QuestionModel> findAllByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<QuestionModel> findAllByIsActiveTrueAndCategoryEnumAndIdGreaterThanOrderByIdAsc(CategoryEnum categoryEnum, String id, Limit limit);
+
+    List<QuestionModel> findAllByGithubIdAndIdGreaterThanOrderByIdAsc(String githubId, String id, Limit limit);
+
 }
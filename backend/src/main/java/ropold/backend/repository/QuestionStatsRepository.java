@@ -0,0 +1,15 @@
+package ropold.backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionStatsModel;
+
+import java.util.List;
+
+public interface QuestionStatsRepository extends MongoRepository<QuestionStatsModel, String> {
+
+    List<QuestionStatsModel> findAllByOrderByFavoritesDescPlaysDesc(Limit limit);
+
+    List<QuestionStatsModel> findAllByCategoryEnumOrderByFavoritesDescPlaysDesc(CategoryEnum categoryEnum, Limit limit);
+}
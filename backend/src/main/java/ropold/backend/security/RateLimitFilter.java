@@ -0,0 +1,72 @@
+package ropold.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ropold.backend.exception.QuestionError;
+
+import java.io.IOException;
+
+// Limits the anonymous write endpoints. Logged-in users get a bucket per principal, everyone else one per IP.
+// Behind the proxy Tomcat's RemoteIpValve (server.forward-headers-strategy=native) resolves the IP: it only
+// reads X-Forwarded-For from peers matching server.tomcat.remoteip.internal-proxies and takes the right-most
+// address that is not such a proxy, so clients cannot pick their own bucket by sending the header.
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Group group = groupOf(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, clientOf(request));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new QuestionError("Too many requests"));
+    }
+
+    private static RateLimiter.Group groupOf(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/api/word-link-hub/no-login", "/api/word-link-hub/bulk", "/api/word-link-hub/import" ->
+                    RateLimiter.Group.QUESTION_WRITE;
+            case "/api/high-score" -> RateLimiter.Group.HIGH_SCORE_WRITE;
+            default -> path.startsWith("/api/game/") ? RateLimiter.Group.GAME : null;
+        };
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,154 @@
+package ropold.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.RateLimiterStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets per (endpoint group, client). Each bucket is a single AtomicLong holding the
+// "theoretical arrival time" of the next request (GCRA), which behaves like a token bucket of
+// `capacity` tokens refilled at `refillPerMinute`, but updates with one CAS and no lock.
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    public enum Group {
+        QUESTION_WRITE,
+        HIGH_SCORE_WRITE,
+        GAME
+    }
+
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    @Value("${app.rate-limit.question-write.capacity:20}")
+    private int questionWriteCapacity = 20;
+
+    @Value("${app.rate-limit.question-write.per-minute:10}")
+    private int questionWritePerMinute = 10;
+
+    @Value("${app.rate-limit.high-score-write.capacity:30}")
+    private int highScoreWriteCapacity = 30;
+
+    @Value("${app.rate-limit.high-score-write.per-minute:30}")
+    private int highScoreWritePerMinute = 30;
+
+    // a game is a start and a finish call, so this allows 20 games per minute
+    @Value("${app.rate-limit.game.capacity:40}")
+    private int gameCapacity = 40;
+
+    @Value("${app.rate-limit.game.per-minute:40}")
+    private int gamePerMinute = 40;
+
+    // Striped so the idle sweep can walk one stripe at a time instead of the whole key space.
+    private final List<ConcurrentMap<String, AtomicLong>> stripes = new ArrayList<>(STRIPES);
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder overheadNanos = new LongAdder();
+    private final LongAccumulator maxOverheadNanos = new LongAccumulator(Long::max, 0);
+    private int nextStripe;
+
+    public RateLimiter() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public Decision tryAcquire(Group group, String client) {
+        long start = System.nanoTime();
+        Decision decision = tryAcquire(group, client, start);
+        long elapsed = System.nanoTime() - start;
+        overheadNanos.add(elapsed);
+        maxOverheadNanos.accumulate(elapsed);
+        return decision;
+    }
+
+    Decision tryAcquire(Group group, String client, long nowNanos) {
+        long interval = intervalNanos(group);
+        long burst = interval * capacity(group);
+        String key = group.name() + '|' + client;
+        AtomicLong bucket = stripe(key).computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + interval;
+            long wait = next - nowNanos - burst;
+            if (wait > 0) {
+                rejected.increment();
+                return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                allowed.increment();
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    // A bucket whose arrival time lies far enough in the past is full again, so dropping it changes nothing.
+    @Scheduled(fixedDelay = 5000)
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    synchronized void evictIdleBuckets(long nowNanos) {
+        ConcurrentMap<String, AtomicLong> stripe = stripes.get(nextStripe);
+        nextStripe = (nextStripe + 1) % STRIPES;
+        stripe.entrySet().removeIf(entry -> {
+            boolean idle = nowNanos - entry.getValue().get() > IDLE_NANOS;
+            if (idle) {
+                evicted.increment();
+            }
+            return idle;
+        });
+    }
+
+    public RateLimiterStats getStats() {
+        int buckets = 0;
+        for (ConcurrentMap<String, AtomicLong> stripe : stripes) {
+            buckets += stripe.size();
+        }
+        long decisions = allowed.sum() + rejected.sum();
+        return new RateLimiterStats(
+                allowed.sum(),
+                rejected.sum(),
+                buckets,
+                evicted.sum(),
+                decisions == 0 ? 0 : overheadNanos.sum() / decisions,
+                maxOverheadNanos.get()
+        );
+    }
+
+    private ConcurrentMap<String, AtomicLong> stripe(String key) {
+        return stripes.get(Math.floorMod(key.hashCode(), STRIPES));
+    }
+
+    private int capacity(Group group) {
+        return switch (group) {
+            case QUESTION_WRITE -> questionWriteCapacity;
+            case HIGH_SCORE_WRITE -> highScoreWriteCapacity;
+            case GAME -> gameCapacity;
+        };
+    }
+
+    private long intervalNanos(Group group) {
+        int perMinute = switch (group) {
+            case QUESTION_WRITE -> questionWritePerMinute;
+            case HIGH_SCORE_WRITE -> highScoreWritePerMinute;
+            case GAME -> gamePerMinute;
+        };
+        return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+    }
+}
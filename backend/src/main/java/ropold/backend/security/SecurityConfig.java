@@ -1,25 +1,31 @@
 package ropold.backend.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import ropold.backend.model.AppUser;
-import ropold.backend.repository.AppUserRepository;
+import ropold.backend.service.AppUserCache;
 
 import java.util.Collections;
+import java.util.Set;
 
 @Configuration
 @EnableWebSecurity
@@ -29,16 +35,22 @@ public class SecurityConfig {
     @Value("${app.url}")
     private String appUrl;
 
-    private final AppUserRepository appUserRepository;
+    // GitHub ids allowed to read /api/metrics; empty means nobody
+    @Value("${app.admin.github-ids:}")
+    private Set<String> adminGithubIds = Set.of();
+
+    private final AppUserCache appUserCache;
     private static final String QUESTION = "/api/word-link-hub/**";
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimiter rateLimiter, ObjectMapper objectMapper) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new RateLimitFilter(rateLimiter, objectMapper), AuthorizationFilter.class)
                 .authorizeHttpRequests(a -> a
                         .requestMatchers(HttpMethod.POST, "/api/word-link-hub/no-login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/word-link-hub/bulk").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/word-link-hub/import").permitAll()
                         .requestMatchers(HttpMethod.GET, QUESTION).permitAll()
                         .requestMatchers(HttpMethod.POST, QUESTION).authenticated()
                         .requestMatchers(HttpMethod.PUT, QUESTION).authenticated()
@@ -46,6 +58,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/me").permitAll()
                         .requestMatchers("/api/users/me/details").permitAll()
                         .requestMatchers("/api/high-score").permitAll()
+                        .requestMatchers("/api/metrics/**").access((authentication, context) ->
+                                new AuthorizationDecision(isAdmin(authentication.get())))
                         .anyRequest().permitAll()
                 )
                 .logout(l -> l.logoutUrl("/api/users/logout")
@@ -58,6 +72,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null
+                && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)
+                && adminGithubIds.contains(authentication.getName());
+    }
+
     @Bean
     public OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService() {
         DefaultOAuth2UserService userService = new DefaultOAuth2UserService();
@@ -65,7 +86,7 @@ public class SecurityConfig {
         return (userRequest) -> {
             OAuth2User githubUser = userService.loadUser(userRequest);
 
-            AppUser user = appUserRepository.findById(githubUser.getName())
+            AppUser user = appUserCache.findById(githubUser.getName())
                     .orElseGet(() -> {
                         AppUser newUser = new AppUser(
                                 githubUser.getName(),
@@ -76,7 +97,7 @@ public class SecurityConfig {
                                 Collections.emptyList()
                         );
                         // hier kannst du die Rolle des Users setzen, z.B. "ROLE_USER"
-                        return appUserRepository.save(newUser);
+                        return appUserCache.save(newUser);
                     });
             return githubUser;
         };
@@ -0,0 +1,173 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionCacheStats;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.QuestionRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class ActiveQuestionCache {
+
+    private final QuestionRepository questionRepository;
+
+    // Immutable snapshot, swapped on every write so readers never lock.
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private long version;
+
+    public record Snapshot(
+            long version,
+            Map<String, QuestionModel> byId,
+            Map<CategoryEnum, List<QuestionModel>> byCategory,
+            List<QuestionModel> all
+    ) {
+        public List<QuestionModel> get(CategoryEnum categoryEnum) {
+            return categoryEnum == null ? all : byCategory.getOrDefault(categoryEnum, List.of());
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return rebuild();
+    }
+
+    public List<QuestionModel> getActiveQuestions() {
+        return getSnapshot().all();
+    }
+
+    public List<QuestionModel> randomQuestions(CategoryEnum categoryEnum, int size) {
+        return sample(getSnapshot().get(categoryEnum), size);
+    }
+
+    public synchronized void put(QuestionModel questionModel) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        Map<String, QuestionModel> byId = new LinkedHashMap<>(current.byId());
+        if (questionModel.isActive() && questionModel.categoryEnum() != null) {
+            byId.put(questionModel.id(), questionModel);
+        } else if (byId.remove(questionModel.id()) == null) {
+            return;
+        }
+        snapshot.set(buildSnapshot(byId));
+    }
+
+    public synchronized void putAll(Collection<QuestionModel> questionModels) {
+        Snapshot current = snapshot.get();
+        if (current == null || questionModels.isEmpty()) {
+            return;
+        }
+        Map<String, QuestionModel> byId = new LinkedHashMap<>(current.byId());
+        for (QuestionModel questionModel : questionModels) {
+            if (questionModel.isActive() && questionModel.categoryEnum() != null) {
+                byId.put(questionModel.id(), questionModel);
+            } else {
+                byId.remove(questionModel.id());
+            }
+        }
+        snapshot.set(buildSnapshot(byId));
+    }
+
+    public synchronized void remove(String id) {
+        Snapshot current = snapshot.get();
+        if (current == null || !current.byId().containsKey(id)) {
+            return;
+        }
+        Map<String, QuestionModel> byId = new LinkedHashMap<>(current.byId());
+        byId.remove(id);
+        snapshot.set(buildSnapshot(byId));
+    }
+
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    public QuestionCacheStats getStats() {
+        Snapshot current = snapshot.get();
+        return new QuestionCacheStats(
+                current == null ? -1 : current.version(),
+                current == null ? 0 : current.all().size(),
+                hits.sum(),
+                misses.sum(),
+                rebuilds.sum()
+        );
+    }
+
+    private synchronized Snapshot rebuild() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        Map<String, QuestionModel> byId = new LinkedHashMap<>();
+        for (QuestionModel questionModel : questionRepository.findAllByIsActiveTrue()) {
+            if (questionModel.categoryEnum() != null) {
+                byId.put(questionModel.id(), questionModel);
+            }
+        }
+        Snapshot rebuilt = buildSnapshot(byId);
+        snapshot.set(rebuilt);
+        rebuilds.increment();
+        return rebuilt;
+    }
+
+    private Snapshot buildSnapshot(Map<String, QuestionModel> byId) {
+        Map<CategoryEnum, List<QuestionModel>> byCategory = new EnumMap<>(CategoryEnum.class);
+        for (QuestionModel questionModel : byId.values()) {
+            byCategory.computeIfAbsent(questionModel.categoryEnum(), c -> new ArrayList<>()).add(questionModel);
+        }
+        byCategory.replaceAll((categoryEnum, questionModels) -> List.copyOf(questionModels));
+        return new Snapshot(
+                ++version,
+                Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(byCategory),
+                List.copyOf(byId.values())
+        );
+    }
+
+    // Floyd's algorithm: picks size distinct indices in O(size) without copying the candidates.
+    private static List<QuestionModel> sample(List<QuestionModel> candidates, int size) {
+        int n = candidates.size();
+        if (size >= n) {
+            List<QuestionModel> all = new ArrayList<>(candidates);
+            Collections.shuffle(all, ThreadLocalRandom.current());
+            return all;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Integer> picked = new HashSet<>();
+        List<QuestionModel> result = new ArrayList<>(size);
+        for (int i = n - size; i < n; i++) {
+            int index = random.nextInt(i + 1);
+            if (!picked.add(index)) {
+                picked.add(i);
+                index = i;
+            }
+            result.add(candidates.get(index));
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+}
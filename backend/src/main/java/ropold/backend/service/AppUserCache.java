@@ -0,0 +1,113 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.AppUserCacheStats;
+import ropold.backend.repository.AppUserRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class AppUserCache {
+
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final int DEFAULT_TTL_SECONDS = 300;
+
+    private final AppUserRepository appUserRepository;
+
+    @Value("${app.user-cache.max-size:" + DEFAULT_MAX_SIZE + "}")
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    @Value("${app.user-cache.ttl-seconds:" + DEFAULT_TTL_SECONDS + "}")
+    private int ttlSeconds = DEFAULT_TTL_SECONDS;
+
+    private record Entry(AppUser appUser, long expiresAt) {
+    }
+
+    // Access-ordered, so the eldest entry is the least recently used one.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            boolean evict = size() > maxSize;
+            if (evict) {
+                evictions.increment();
+            }
+            return evict;
+        }
+    };
+    // Bumped on every invalidation; a load that raced with one must not put its stale read back.
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Optional<AppUser> findById(String userId) {
+        return findById(userId, System.nanoTime());
+    }
+
+    Optional<AppUser> findById(String userId, long nowNanos) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                if (entry.expiresAt() - nowNanos > 0) {
+                    hits.increment();
+                    return Optional.of(entry.appUser());
+                }
+                entries.remove(userId);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        Optional<AppUser> appUser = appUserRepository.findById(userId);
+        appUser.ifPresent(loaded -> {
+            synchronized (entries) {
+                if (generation.get() == loadedAt) {
+                    entries.put(userId, new Entry(loaded, nowNanos + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+                }
+            }
+        });
+        return appUser;
+    }
+
+    public AppUser save(AppUser appUser) {
+        AppUser saved = appUserRepository.save(appUser);
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.put(saved.id(), new Entry(saved, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        return saved;
+    }
+
+    public void invalidate(String userId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    public AppUserCacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return new AppUserCacheStats(
+                size,
+                hitCount,
+                lookups - hitCount,
+                evictions.sum(),
+                lookups == 0 ? 0 : (double) hitCount / lookups
+        );
+    }
+}
@@ -1,20 +1,33 @@
 package ropold.backend.service;
 
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import ropold.backend.model.AppUser;
-import ropold.backend.repository.AppUserRepository;
+import ropold.backend.model.FavoriteChange;
 
+import java.util.Collection;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AppUserService {
 
-    private final AppUserRepository appUserRepository;
+    private static final String FAVORITE_QUESTIONS = "favoriteQuestions";
+
+    private final AppUserCache appUserCache;
+    private final MongoTemplate mongoTemplate;
+    private final QuestionPopularityTracker questionPopularityTracker;
+    private final QuestionFavoriteIndex questionFavoriteIndex;
 
     public AppUser getUserById(String userId) {
-        return appUserRepository.findById(userId)
+        return appUserCache.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
@@ -23,21 +36,56 @@ public class AppUserService {
         return user.favoriteQuestions();
     }
 
-    public void addQuestionToFavoriteQuestions(String authenticatedUserId, String questionId) {
-        AppUser user = getUserById(authenticatedUserId);
+    // $addToSet / $pull run on the server in one round trip, so two tabs toggling at once can't overwrite each other.
+    public FavoriteChange addQuestionToFavoriteQuestions(String authenticatedUserId, String questionId) {
+        UpdateResult result = updateFavorites(authenticatedUserId, new Update().addToSet(FAVORITE_QUESTIONS, questionId));
+        if (result.getModifiedCount() > 0) {
+            addToIndex(authenticatedUserId, questionId);
+            questionPopularityTracker.favoriteAdded(questionId);
+        }
+        return new FavoriteChange(questionId, true, result.getModifiedCount() > 0);
+    }
+
+    public FavoriteChange removeQuestionFromFavoriteQuestions(String authenticatedUserId, String questionId) {
+        UpdateResult result = updateFavorites(authenticatedUserId, new Update().pull(FAVORITE_QUESTIONS, questionId));
+        if (result.getModifiedCount() > 0) {
+            removeFromIndex(authenticatedUserId, List.of(questionId));
+            questionPopularityTracker.favoriteRemoved(questionId);
+        }
+        return new FavoriteChange(questionId, false, result.getModifiedCount() > 0);
+    }
+
+    public void removeQuestionsFromFavoriteQuestions(String userId, Collection<String> questionIds) {
+        updateFavorites(userId, new Update().pullAll(FAVORITE_QUESTIONS, questionIds.toArray()));
+        removeFromIndex(userId, questionIds);
+    }
 
-        if (!user.favoriteQuestions().contains(questionId)) {
-            user.favoriteQuestions().add(questionId);
-            appUserRepository.save(user);
+    // The user document is already updated at this point and is the source of truth, so a failed index
+    // write doesn't fail the request; the index repairs the entry from the user shortly after.
+    private void addToIndex(String userId, String questionId) {
+        try {
+            questionFavoriteIndex.add(userId, questionId);
+        } catch (RuntimeException e) {
+            log.warn("Could not add favorite {} of user {} to the index", questionId, userId, e);
+            questionFavoriteIndex.repairLater(userId, List.of(questionId));
         }
     }
 
-    public void removeQuestionFromFavoriteQuestions(String authenticatedUserId, String questionId) {
-        AppUser user = getUserById(authenticatedUserId);
+    private void removeFromIndex(String userId, Collection<String> questionIds) {
+        try {
+            questionFavoriteIndex.remove(userId, questionIds);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove favorites {} of user {} from the index", questionIds, userId, e);
+            questionFavoriteIndex.repairLater(userId, questionIds);
+        }
+    }
 
-        if (user.favoriteQuestions().contains(questionId)) {
-            user.favoriteQuestions().remove(questionId);
-            appUserRepository.save(user);
+    private UpdateResult updateFavorites(String userId, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)), update, AppUser.class);
+        appUserCache.invalidate(userId);
+        if (result.getMatchedCount() == 0) {
+            throw new RuntimeException("User not found");
         }
+        return result;
     }
 }
@@ -0,0 +1,22 @@
+package ropold.backend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CollectionVersion {
+
+    // The epoch keeps ETags from colliding with ones handed out before a restart.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    public long get() {
+        return version.get();
+    }
+
+    public String etag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+}
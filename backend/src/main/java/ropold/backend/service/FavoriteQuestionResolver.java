@@ -0,0 +1,111 @@
+package ropold.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.QuestionRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class FavoriteQuestionResolver {
+
+    private final AppUserService appUserService;
+    private final ActiveQuestionCache activeQuestionCache;
+    private final QuestionRepository questionRepository;
+    private final Executor pruneExecutor;
+    private final Set<String> pendingPrunes = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public FavoriteQuestionResolver(AppUserService appUserService, ActiveQuestionCache activeQuestionCache, QuestionRepository questionRepository) {
+        this(appUserService, activeQuestionCache, questionRepository, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "favorites-pruner");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    FavoriteQuestionResolver(AppUserService appUserService, ActiveQuestionCache activeQuestionCache, QuestionRepository questionRepository, Executor pruneExecutor) {
+        this.appUserService = appUserService;
+        this.activeQuestionCache = activeQuestionCache;
+        this.questionRepository = questionRepository;
+        this.pruneExecutor = pruneExecutor;
+    }
+
+    // Active questions come from the cache; only inactive or unknown ids go to Mongo, in one query.
+    public List<QuestionModel> getFavoriteQuestions(String userId) {
+        List<String> favoriteIds = appUserService.getUserFavoriteQuestions(userId);
+        if (favoriteIds == null || favoriteIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, QuestionModel> cached = activeQuestionCache.getSnapshot().byId();
+        Map<String, QuestionModel> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : favoriteIds) {
+            QuestionModel questionModel = cached.get(id);
+            if (questionModel != null) {
+                found.put(id, questionModel);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            questionRepository.findAllById(misses).forEach(questionModel -> found.put(questionModel.id(), questionModel));
+        }
+
+        List<QuestionModel> result = new ArrayList<>(found.size());
+        List<String> deadIds = new ArrayList<>();
+        for (String id : favoriteIds) {
+            QuestionModel questionModel = found.get(id);
+            if (questionModel != null) {
+                result.add(questionModel);
+            } else {
+                deadIds.add(id);
+            }
+        }
+        if (!deadIds.isEmpty()) {
+            schedulePrune(userId, deadIds);
+        }
+        return result;
+    }
+
+    private void schedulePrune(String userId, List<String> deadIds) {
+        // one pending prune per user is enough, repeated page loads shouldn't pile up writes
+        if (!pendingPrunes.add(userId)) {
+            return;
+        }
+        try {
+            pruneExecutor.execute(() -> {
+                try {
+                    appUserService.removeQuestionsFromFavoriteQuestions(userId, deadIds);
+                } catch (RuntimeException e) {
+                    log.warn("Could not prune {} dead favorites of user {}", deadIds.size(), userId, e);
+                } finally {
+                    pendingPrunes.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingPrunes.remove(userId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pruneExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
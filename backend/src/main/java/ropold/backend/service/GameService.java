@@ -0,0 +1,183 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ropold.backend.exception.GameNotFinishedException;
+import ropold.backend.exception.GameSessionNotFoundException;
+import ropold.backend.exception.NotEnoughQuestionsException;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.GameFinishRequest;
+import ropold.backend.model.GameResult;
+import ropold.backend.model.GameStart;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreRank;
+import ropold.backend.model.HighScoreSubmission;
+import ropold.backend.model.QuestionModel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class GameService {
+
+    // every game has the same length, otherwise a short deck would beat any full game on time
+    private static final int DEFAULT_DECK_SIZE = 10;
+    // same tolerance as the client: one or two typos still count as correct
+    private static final int MAX_ANSWER_DISTANCE = 2;
+    private static final long DEFAULT_SESSION_TTL_MINUTES = 30;
+    private static final long DEFAULT_RESULT_TTL_MINUTES = 10;
+
+    private final QuestionService questionService;
+    private final HighScoreService highScoreService;
+    private final IdService idService;
+    private final GameSessionStore gameSessionStore;
+    private final QuestionPopularityTracker questionPopularityTracker;
+
+    @Value("${app.game.deck-size:" + DEFAULT_DECK_SIZE + "}")
+    private int deckSize = DEFAULT_DECK_SIZE;
+
+    @Value("${app.game.session-ttl-minutes:" + DEFAULT_SESSION_TTL_MINUTES + "}")
+    private long sessionTtlMinutes = DEFAULT_SESSION_TTL_MINUTES;
+
+    @Value("${app.game.result-ttl-minutes:" + DEFAULT_RESULT_TTL_MINUTES + "}")
+    private long resultTtlMinutes = DEFAULT_RESULT_TTL_MINUTES;
+
+    public GameStart startGame(String category) {
+        String categoryKey = HighScoreService.categoryKey(category);
+        CategoryEnum categoryEnum = categoryKey.equals(HighScoreService.RANDOM_CATEGORY)
+                ? null
+                : CategoryEnum.valueOf(categoryKey);
+        List<QuestionModel> deck = questionService.getRandomDeck(categoryEnum, deckSize);
+        if (deck.size() < deckSize) {
+            throw new NotEnoughQuestionsException("Category " + categoryKey + " has only " + deck.size()
+                    + " active questions, a game needs " + deckSize);
+        }
+
+        String[] questionIds = new String[deck.size()];
+        String[] solutionWords = new String[deck.size()];
+        for (int i = 0; i < deck.size(); i++) {
+            questionIds[i] = deck.get(i).id();
+            solutionWords[i] = normalize(deck.get(i).solutionWord());
+        }
+        long now = System.nanoTime();
+        GameSession session = new GameSession(idService.generateRandomId(), categoryKey, questionIds, solutionWords,
+                now, now + TimeUnit.MINUTES.toNanos(sessionTtlMinutes));
+        gameSessionStore.put(session);
+        return new GameStart(session.id, categoryKey, deck);
+    }
+
+    // The first call fixes time and wrong answers; later calls within the result TTL may only add the
+    // player name, so the prompt for a name can come after the player has seen the result.
+    public GameResult finishGame(String gameId, GameFinishRequest gameFinishRequest) {
+        long now = System.nanoTime();
+        GameSession session = gameSessionStore.get(gameId, now);
+        if (session == null) {
+            throw new GameSessionNotFoundException("Game session not found or expired: " + gameId);
+        }
+
+        synchronized (session) {
+            if (!session.finished) {
+                session.finished = true;
+                session.wrongAnswerCount = countWrongAnswers(session, gameFinishRequest.answers());
+                // one decimal, like the timer the client shows
+                session.scoreTime = Math.round((now - session.startedAtNanos) / 1e8) / 10.0;
+                gameSessionStore.expireAt(session, now + TimeUnit.MINUTES.toNanos(resultTtlMinutes));
+            }
+
+            if (gameFinishRequest.playerName() != null) {
+                submit(session, gameFinishRequest.playerName(), gameFinishRequest.githubId());
+            }
+
+            int rank;
+            boolean qualifies;
+            if (session.submitted) {
+                rank = session.rank;
+                qualifies = session.highScore != null;
+            } else {
+                HighScoreRank highScoreRank = highScoreService.getRank(
+                        session.wrongAnswerCount, session.scoreTime, session.categoryEnum);
+                rank = highScoreRank.rank();
+                qualifies = highScoreRank.qualifies();
+            }
+            return new GameResult(session.id, session.categoryEnum, session.wrongAnswerCount, session.scoreTime,
+                    rank, qualifies, session.highScore == null ? null : session.highScore.id());
+        }
+    }
+
+    // Puts an already finished game on the leaderboard; time and wrong answers come from the session,
+    // only the name is taken from the client.
+    public HighScoreSubmission submitHighScore(String gameId, String playerName, String githubId) {
+        GameSession session = gameSessionStore.get(gameId, System.nanoTime());
+        if (session == null) {
+            throw new GameSessionNotFoundException("Game session not found or expired: " + gameId);
+        }
+        synchronized (session) {
+            if (!session.finished) {
+                throw new GameNotFinishedException("Game is not finished yet: " + gameId);
+            }
+            submit(session, playerName, githubId);
+            return new HighScoreSubmission(session.highScore, session.rank);
+        }
+    }
+
+    // Called under the session monitor; a session is submitted at most once.
+    private void submit(GameSession session, String playerName, String githubId) {
+        if (session.submitted) {
+            return;
+        }
+        HighScoreSubmission submission = highScoreService.submitHighScore(new HighScoreModel(
+                null,
+                playerName,
+                githubId,
+                session.categoryEnum,
+                session.wrongAnswerCount,
+                session.scoreTime,
+                LocalDateTime.now()
+        ));
+        session.submitted = true;
+        session.rank = submission.rank();
+        session.highScore = submission.highScoreModel();
+    }
+
+    private int countWrongAnswers(GameSession session, List<String> answers) {
+        int wrong = 0;
+        for (int i = 0; i < session.solutionWords.length; i++) {
+            String answer = answers != null && i < answers.size() ? answers.get(i) : null;
+            boolean correct = answer != null && levenshtein(normalize(answer), session.solutionWords[i]) <= MAX_ANSWER_DISTANCE;
+            // counted once per finished game, so starting games without playing them doesn't inflate plays
+            questionPopularityTracker.played(session.questionIds[i]);
+            questionPopularityTracker.answered(session.questionIds[i], correct);
+            if (!correct) {
+                wrong++;
+            }
+        }
+        return wrong;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,32 @@
+package ropold.backend.service;
+
+import ropold.backend.model.HighScoreModel;
+
+// One game in flight. Deck data is copied into arrays at start so finishing needs no further lookups.
+class GameSession {
+
+    final String id;
+    final String categoryEnum;
+    final String[] questionIds;
+    final String[] solutionWords;
+    final long startedAtNanos;
+    volatile long expiresAtNanos;
+
+    // set once on the first finish, guarded by the session monitor
+    boolean finished;
+    int wrongAnswerCount;
+    double scoreTime;
+    boolean submitted;
+    HighScoreModel highScore;
+    int rank;
+
+    GameSession(String id, String categoryEnum, String[] questionIds, String[] solutionWords,
+                long startedAtNanos, long expiresAtNanos) {
+        this.id = id;
+        this.categoryEnum = categoryEnum;
+        this.questionIds = questionIds;
+        this.solutionWords = solutionWords;
+        this.startedAtNanos = startedAtNanos;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+}
@@ -0,0 +1,96 @@
+package ropold.backend.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.GameSessionStats;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory game sessions with timer-wheel expiry: each tick only looks at the one slot that is due,
+// so expiring costs O(expired sessions) instead of a scan over everything in flight.
+@Component
+public class GameSessionStore {
+
+    static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // power of two, about 68 minutes; sessions further out are simply re-slotted when their slot comes up
+    static final int WHEEL_SLOTS = 4096;
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Queue<GameSession>> wheel = new AtomicReferenceArray<>(WHEEL_SLOTS);
+    private final LongAdder started = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private long lastTick = Math.floorDiv(System.nanoTime(), TICK_NANOS);
+
+    public GameSessionStore() {
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.set(i, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public void put(GameSession session) {
+        sessions.put(session.id, session);
+        schedule(session);
+        started.increment();
+    }
+
+    // Returns null for unknown or expired sessions, even if the wheel has not reached them yet.
+    public GameSession get(String id, long nowNanos) {
+        GameSession session = sessions.get(id);
+        if (session != null && session.expiresAtNanos - nowNanos <= 0) {
+            if (sessions.remove(id, session)) {
+                expired.increment();
+            }
+            return null;
+        }
+        return session;
+    }
+
+    public void expireAt(GameSession session, long expiresAtNanos) {
+        session.expiresAtNanos = expiresAtNanos;
+        schedule(session);
+    }
+
+    public GameSessionStats getStats() {
+        return new GameSessionStats(sessions.size(), started.sum(), expired.sum());
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expireSessions() {
+        tick(System.nanoTime());
+    }
+
+    synchronized void tick(long nowNanos) {
+        long currentTick = Math.floorDiv(nowNanos, TICK_NANOS);
+        // after a long pause one full turn of the wheel covers every slot
+        long fromTick = Math.max(lastTick + 1, currentTick - WHEEL_SLOTS + 1);
+        for (long tick = fromTick; tick <= currentTick; tick++) {
+            int slot = (int) Math.floorMod(tick, (long) WHEEL_SLOTS);
+            Queue<GameSession> due = wheel.getAndSet(slot, new ConcurrentLinkedQueue<>());
+            GameSession session;
+            while ((session = due.poll()) != null) {
+                if (sessions.get(session.id) != session) {
+                    continue;
+                }
+                if (session.expiresAtNanos - nowNanos <= 0) {
+                    if (sessions.remove(session.id, session)) {
+                        expired.increment();
+                    }
+                } else {
+                    schedule(session);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+    }
+
+    private void schedule(GameSession session) {
+        int slot = (int) Math.floorMod(Math.floorDiv(session.expiresAtNanos, TICK_NANOS), (long) WHEEL_SLOTS);
+        wheel.get(slot).add(session);
+    }
+}
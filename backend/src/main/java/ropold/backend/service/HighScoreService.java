@@ -2,59 +2,408 @@ package ropold.backend.service;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import ropold.backend.exception.InvalidCategoryException;
+import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreRank;
+import ropold.backend.model.HighScoreSubmission;
+import ropold.backend.model.LeaderboardEvent;
+import ropold.backend.model.LeaderboardPeriod;
 import ropold.backend.repository.HighScoreRepository;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 public class HighScoreService {
 
+    public static final String RANDOM_CATEGORY = "RANDOM";
+    private static final int MAX_HIGH_SCORES = 10;
+
     private final HighScoreRepository highScoreRepository;
     private final IdService idService;
+    private final HighScoreWriter highScoreWriter;
+    private final LeaderboardBroadcaster leaderboardBroadcaster;
+    private final ScoreHistoryService scoreHistoryService;
+    private final ScoreStatisticsService scoreStatisticsService;
+    private final CollectionVersion highScoreVersion = new CollectionVersion();
+    private final ConcurrentMap<String, CategoryBoard> boards = new ConcurrentHashMap<>();
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Daily, weekly and all-time top-10 of one category with their own lock, so submissions in
+    // different categories never contend. A score row is kept in Mongo while it is on any of them.
+    private static final class CategoryBoard {
+        private final Map<LeaderboardPeriod, Leaderboard> leaderboards = new EnumMap<>(LeaderboardPeriod.class);
+        // Single writer for the leaderboards, so evictions and their persistence happen in the same order.
+        private final Lock writeLock = new ReentrantLock();
+        private volatile LocalDate day;
+        private volatile boolean loaded;
+
+        private CategoryBoard() {
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                leaderboards.put(period, new Leaderboard(MAX_HIGH_SCORES));
+            }
+        }
+
+        private Leaderboard get(LeaderboardPeriod period) {
+            return leaderboards.get(period);
+        }
+
+        private boolean contains(String id) {
+            return leaderboards.values().stream().anyMatch(leaderboard -> leaderboard.contains(id));
+        }
+
+        // Periods whose window the score's date falls into on the board's current day.
+        private List<LeaderboardPeriod> periodsFor(HighScoreModel highScoreModel) {
+            List<LeaderboardPeriod> periods = new ArrayList<>(3);
+            periods.add(LeaderboardPeriod.ALL_TIME);
+            if (highScoreModel.date() != null) {
+                LocalDate scoreDay = highScoreModel.date().toLocalDate();
+                if (weekStart(scoreDay).equals(weekStart(day))) {
+                    periods.add(LeaderboardPeriod.WEEKLY);
+                }
+                if (scoreDay.equals(day)) {
+                    periods.add(LeaderboardPeriod.DAILY);
+                }
+            }
+            return periods;
+        }
+    }
+
+    // Rolls the loaded boards over first: a day change bumps the version, so a client that still holds
+    // yesterday's ETag gets the new boards instead of a 304.
+    public String getHighScoresEtag() {
+        rollOverLoaded(LocalDate.now(clock));
+        return highScoreVersion.etag();
+    }
 
     public List<HighScoreModel> getAllHighScores() {
-        return highScoreRepository.findAllByOrderByWrongAnswerCountAscScoreTimeAsc();
+        return getAllHighScores(LeaderboardPeriod.ALL_TIME);
+    }
+
+    // The global top 10 is always within the union of the category top 10s, so merging them is exact.
+    public List<HighScoreModel> getAllHighScores(LeaderboardPeriod period) {
+        List<HighScoreModel> all = new ArrayList<>();
+        for (String category : allCategories()) {
+            all.addAll(loadedBoard(category).get(period).getEntries());
+        }
+        all.sort(Leaderboard.RANKING);
+        return all.size() > MAX_HIGH_SCORES ? List.copyOf(all.subList(0, MAX_HIGH_SCORES)) : all;
+    }
+
+    public List<HighScoreModel> getHighScores(String category) {
+        return getHighScores(category, LeaderboardPeriod.ALL_TIME);
+    }
+
+    public List<HighScoreModel> getHighScores(String category, LeaderboardPeriod period) {
+        return loadedBoard(categoryKey(category)).get(period).getEntries();
+    }
+
+    public HighScoreRank getRank(int wrongAnswerCount, double scoreTime, String category) {
+        return getRank(wrongAnswerCount, scoreTime, category, LeaderboardPeriod.ALL_TIME);
+    }
+
+    public HighScoreRank getRank(int wrongAnswerCount, double scoreTime, String category, LeaderboardPeriod period) {
+        String key = categoryKey(category);
+        Leaderboard leaderboard = loadedBoard(key).get(period);
+        int rank = leaderboard.rankOf(wrongAnswerCount, scoreTime);
+        return new HighScoreRank(key, rank, rank <= leaderboard.getCapacity());
     }
 
     public HighScoreModel addHighScore(@Valid HighScoreModel highScoreModel) {
+        return submitHighScore(highScoreModel).highScoreModel();
+    }
+
+    // Only the in-memory boards are touched here; persistence is queued in HighScoreWriter. When the writer
+    // is too far behind it throws before any board changes, so the client can simply submit again.
+    public HighScoreSubmission submitHighScore(@Valid HighScoreModel highScoreModel) {
+        String category = categoryKey(highScoreModel.categoryEnum());
+        HighScoreSubmission submission = admit(category, loadedBoard(category), withDate(highScoreModel, LocalDateTime.now(clock)));
+        // every game goes to the history; the boards are only a derived top-10 view
+        scoreHistoryService.record(highScoreModel, category);
+        scoreStatisticsService.record(category, highScoreModel.wrongAnswerCount(), highScoreModel.scoreTime());
+        return submission;
+    }
+
+    // The score is dated by the server's clock before it gets here, so the daily and weekly windows can't be
+    // picked by the client.
+    private HighScoreSubmission admit(String category, CategoryBoard board, HighScoreModel highScoreModel) {
+        // Rejections are decided against the snapshots without taking the lock or touching Mongo.
+        if (board.periodsFor(highScoreModel).stream().noneMatch(period -> board.get(period).qualifies(highScoreModel))) {
+            return rejected(board, highScoreModel); // Neuer Score ist schlechter oder gleich → nicht speichern
+        }
+
         HighScoreModel newHighScoreModel = new HighScoreModel(
                 idService.generateRandomId(),
                 highScoreModel.playerName(),
                 highScoreModel.githubId(),
-                highScoreModel.categoryEnum(),
+                category,
                 highScoreModel.wrongAnswerCount(),
                 highScoreModel.scoreTime(),
                 highScoreModel.date()
         );
 
-        List<HighScoreModel> existingScores = highScoreRepository
-                .findAllByOrderByWrongAnswerCountAscScoreTimeAsc();
+        board.writeLock.lock();
+        try {
+            // exact under the lock, offer() below accepts the same periods
+            List<LeaderboardPeriod> periods = board.periodsFor(newHighScoreModel).stream()
+                    .filter(period -> board.get(period).qualifies(newHighScoreModel))
+                    .toList();
+            if (periods.isEmpty()) {
+                return rejected(board, highScoreModel);
+            }
+            highScoreWriter.save(newHighScoreModel);
+
+            Map<LeaderboardPeriod, Leaderboard.Admission> admissions = new EnumMap<>(LeaderboardPeriod.class);
+            for (LeaderboardPeriod period : periods) {
+                admissions.put(period, board.get(period).offer(newHighScoreModel));
+            }
+            highScoreVersion.bump();
+            Set<String> evictedIds = new LinkedHashSet<>();
+            // published under the board lock so subscribers see changes of one category in order
+            admissions.forEach((period, admission) -> {
+                leaderboardBroadcaster.publish(new LeaderboardEvent(LeaderboardEvent.ADDED, category, period,
+                        highScoreVersion.get(), newHighScoreModel.id(), admission.rank(), newHighScoreModel));
+                if (admission.evicted() != null) {
+                    leaderboardBroadcaster.publish(new LeaderboardEvent(LeaderboardEvent.REMOVED, category, period,
+                            highScoreVersion.get(), admission.evicted().id(), -1, null));
+                    evictedIds.add(admission.evicted().id());
+                }
+            });
+            deleteUnreferenced(board, evictedIds);
 
-        if (existingScores.size() < 10) {
-            return highScoreRepository.save(newHighScoreModel);
+            Leaderboard.Admission allTime = admissions.get(LeaderboardPeriod.ALL_TIME);
+            int rank = allTime != null
+                    ? allTime.rank()
+                    : board.get(LeaderboardPeriod.ALL_TIME).rankOf(newHighScoreModel.wrongAnswerCount(), newHighScoreModel.scoreTime());
+            return new HighScoreSubmission(newHighScoreModel, rank);
+        } finally {
+            board.writeLock.unlock();
         }
+    }
+
+    public void deleteHighScore(String id) {
+        Map<String, List<LeaderboardPeriod>> removedFrom = new LinkedHashMap<>();
+        for (Map.Entry<String, CategoryBoard> entry : boards.entrySet()) {
+            CategoryBoard board = entry.getValue();
+            board.writeLock.lock();
+            try {
+                board.leaderboards.forEach((period, leaderboard) -> {
+                    if (leaderboard.remove(id)) {
+                        removedFrom.computeIfAbsent(entry.getKey(), c -> new ArrayList<>()).add(period);
+                    }
+                });
+            } finally {
+                board.writeLock.unlock();
+            }
+        }
+        highScoreWriter.delete(id);
+        highScoreVersion.bump();
+        removedFrom.forEach((category, periods) -> periods.forEach(period ->
+                leaderboardBroadcaster.publish(new LeaderboardEvent(LeaderboardEvent.REMOVED, category, period,
+                        highScoreVersion.get(), id, -1, null))));
+    }
 
-        HighScoreModel worstScore = existingScores.get(9); // Platz 10
+    // The lazy check in loadedBoard already handles a day change; this just does it for idle categories too.
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollOverLeaderboards() {
+        rollOverLoaded(LocalDate.now(clock));
+    }
 
-        boolean isWorse =
-                newHighScoreModel.wrongAnswerCount() > worstScore.wrongAnswerCount() ||
-                        (newHighScoreModel.wrongAnswerCount() == worstScore.wrongAnswerCount() &&
-                                newHighScoreModel.scoreTime() >= worstScore.scoreTime());
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
 
-        if (isWorse) {
-            return null; // Neuer Score ist schlechter oder gleich → nicht speichern
+    // Drops the in-memory boards so the next access reloads them from Mongo.
+    public void invalidate() {
+        boards.clear();
+        highScoreVersion.bump();
+    }
+
+    private void rollOverLoaded(LocalDate today) {
+        boards.forEach((category, board) -> {
+            if (board.loaded && !today.equals(board.day)) {
+                rollOver(category, board, today);
+            }
+        });
+    }
+
+    private void rollOver(String category, CategoryBoard board, LocalDate today) {
+        board.writeLock.lock();
+        try {
+            if (today.equals(board.day)) {
+                return;
+            }
+            // Scores are only admitted to the windows of the day they are submitted on, so a new
+            // window simply starts empty and nothing has to be rescanned.
+            List<LeaderboardPeriod> resetPeriods = new ArrayList<>(List.of(LeaderboardPeriod.DAILY));
+            if (!weekStart(today).equals(weekStart(board.day))) {
+                resetPeriods.add(LeaderboardPeriod.WEEKLY);
+            }
+            List<HighScoreModel> dropped = new ArrayList<>();
+            for (LeaderboardPeriod period : resetPeriods) {
+                dropped.addAll(board.get(period).getEntries());
+                board.get(period).reset(List.of());
+            }
+            board.day = today;
+            highScoreVersion.bump();
+            for (LeaderboardPeriod period : resetPeriods) {
+                leaderboardBroadcaster.publish(new LeaderboardEvent(LeaderboardEvent.RESET, category, period,
+                        highScoreVersion.get(), null, -1, null));
+            }
+            deleteUnreferenced(board, dropped.stream().map(HighScoreModel::id).toList());
+        } finally {
+            board.writeLock.unlock();
         }
+    }
 
-        // Neuer Score ist besser → alten entfernen und neuen speichern
-        highScoreRepository.delete(worstScore);
-        return highScoreRepository.save(newHighScoreModel);
+    private void deleteUnreferenced(CategoryBoard board, Iterable<String> ids) {
+        for (String id : ids) {
+            if (!board.contains(id)) {
+                highScoreWriter.delete(id);
+            }
+        }
     }
 
+    private CategoryBoard loadedBoard(String category) {
+        CategoryBoard board = boards.computeIfAbsent(category, c -> new CategoryBoard());
+        LocalDate today = LocalDate.now(clock);
+        if (board.loaded) {
+            if (!today.equals(board.day)) {
+                rollOver(category, board, today);
+            }
+            return board;
+        }
+        board.writeLock.lock();
+        try {
+            if (!board.loaded) {
+                load(category, board, today);
+                board.loaded = true;
+            }
+        } finally {
+            board.writeLock.unlock();
+        }
+        return board;
+    }
 
-    public void deleteHighScore(String id) {
-        highScoreRepository.deleteById(id);
+    private void load(String category, CategoryBoard board, LocalDate today) {
+        board.day = today;
+        List<HighScoreModel> allTime =
+                highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc(category);
+        List<HighScoreModel> thisWeek = highScoreRepository
+                .findAllByCategoryEnumAndDateGreaterThanEqualOrderByWrongAnswerCountAscScoreTimeAsc(
+                        category, weekStart(today).atStartOfDay());
+        List<HighScoreModel> legacy = List.of();
+        if (category.equals(RANDOM_CATEGORY)) {
+            // rows from before categories existed have none; they belong on the global board
+            legacy = highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc(null).stream()
+                    .map(highScoreModel -> withCategory(highScoreModel, RANDOM_CATEGORY))
+                    .toList();
+            allTime = merge(allTime, legacy);
+            thisWeek = merge(thisWeek, legacy.stream()
+                    .filter(highScoreModel -> highScoreModel.date() != null
+                            && !highScoreModel.date().toLocalDate().isBefore(weekStart(today)))
+                    .toList());
+        }
+
+        board.get(LeaderboardPeriod.ALL_TIME).reset(allTime);
+        board.get(LeaderboardPeriod.WEEKLY).reset(thisWeek.stream()
+                .filter(highScoreModel -> board.periodsFor(highScoreModel).contains(LeaderboardPeriod.WEEKLY))
+                .toList());
+        board.get(LeaderboardPeriod.DAILY).reset(thisWeek.stream()
+                .filter(highScoreModel -> board.periodsFor(highScoreModel).contains(LeaderboardPeriod.DAILY))
+                .toList());
+
+        // rows on none of the boards are left over from earlier eviction rules
+        deleteUnreferenced(board, allTime.stream().map(HighScoreModel::id).toList());
+        // legacy rows that stay get their category written, so this only happens once
+        legacy.stream()
+                .filter(highScoreModel -> board.contains(highScoreModel.id()))
+                .forEach(highScoreWriter::save);
+    }
+
+    private static List<HighScoreModel> merge(List<HighScoreModel> highScores, List<HighScoreModel> more) {
+        if (more.isEmpty()) {
+            return highScores;
+        }
+        List<HighScoreModel> merged = new ArrayList<>(highScores);
+        merged.addAll(more);
+        merged.sort(Leaderboard.RANKING);
+        return merged;
+    }
+
+    private static HighScoreModel withDate(HighScoreModel highScoreModel, LocalDateTime date) {
+        return new HighScoreModel(
+                highScoreModel.id(),
+                highScoreModel.playerName(),
+                highScoreModel.githubId(),
+                highScoreModel.categoryEnum(),
+                highScoreModel.wrongAnswerCount(),
+                highScoreModel.scoreTime(),
+                date
+        );
+    }
+
+    private static HighScoreModel withCategory(HighScoreModel highScoreModel, String category) {
+        return new HighScoreModel(
+                highScoreModel.id(),
+                highScoreModel.playerName(),
+                highScoreModel.githubId(),
+                category,
+                highScoreModel.wrongAnswerCount(),
+                highScoreModel.scoreTime(),
+                highScoreModel.date()
+        );
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static HighScoreSubmission rejected(CategoryBoard board, HighScoreModel highScoreModel) {
+        return new HighScoreSubmission(null, board.get(LeaderboardPeriod.ALL_TIME)
+                .rankOf(highScoreModel.wrongAnswerCount(), highScoreModel.scoreTime()));
+    }
+
+    static String categoryKey(String category) {
+        if (category == null || category.isBlank()) {
+            return RANDOM_CATEGORY;
+        }
+        String normalized = category.trim().toUpperCase(Locale.ROOT);
+        if (normalized.equals(RANDOM_CATEGORY)) {
+            return RANDOM_CATEGORY;
+        }
+        try {
+            return CategoryEnum.valueOf(normalized).name();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCategoryException("Unknown category: " + category);
+        }
+    }
+
+    private static List<String> allCategories() {
+        List<String> categories = new ArrayList<>();
+        for (CategoryEnum categoryEnum : CategoryEnum.values()) {
+            categories.add(categoryEnum.name());
+        }
+        categories.add(RANDOM_CATEGORY);
+        return categories;
     }
 }
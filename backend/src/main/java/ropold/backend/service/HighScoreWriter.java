@@ -0,0 +1,324 @@
+package ropold.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ropold.backend.exception.HighScoreWriterBusyException;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreWriterStats;
+import ropold.backend.repository.HighScoreRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind buffer for leaderboard changes: a single drainer thread coalesces queued saves and
+// deletes into batched writes every flush interval or once a full batch is waiting. A batch that fails
+// is kept, coalesced, and retried with the next one after a growing pause, so nothing is lost while
+// Mongo is away. Only saves take queue capacity: when it is used up a save waits briefly and is then
+// rejected, deletes are always accepted since they only ever follow a save or shrink a board.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HighScoreWriter {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 200;
+    private static final long DEFAULT_OFFER_TIMEOUT_MS = 100;
+    private static final long DEFAULT_MAX_RETRY_DELAY_MS = 30_000;
+
+    private final HighScoreRepository highScoreRepository;
+
+    @Value("${app.high-score.queue-capacity:" + DEFAULT_QUEUE_CAPACITY + "}")
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    @Value("${app.high-score.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    @Value("${app.high-score.flush-interval-ms:" + DEFAULT_FLUSH_INTERVAL_MS + "}")
+    private long flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+
+    @Value("${app.high-score.offer-timeout-ms:" + DEFAULT_OFFER_TIMEOUT_MS + "}")
+    private long offerTimeoutMs = DEFAULT_OFFER_TIMEOUT_MS;
+
+    @Value("${app.high-score.max-retry-delay-ms:" + DEFAULT_MAX_RETRY_DELAY_MS + "}")
+    private long maxRetryDelayMs = DEFAULT_MAX_RETRY_DELAY_MS;
+
+    // highScoreModel == null marks a delete; every queued save holds one of the saveSlots until it is written
+    private record PendingWrite(long sequence, String id, HighScoreModel highScoreModel) {
+    }
+
+    // Sequence numbers are handed out under the lock so queue order and sequence order match.
+    private final Lock enqueueLock = new ReentrantLock();
+    private final Lock writtenLock = new ReentrantLock();
+    private final Condition writtenAdvanced = writtenLock.newCondition();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private long enqueued;
+    private long writtenSequence;
+    private BlockingQueue<PendingWrite> queue;
+    private Semaphore saveSlots;
+    // written by the drainer before it exits, read by shutdown after joining it
+    private volatile List<PendingWrite> unwritten = List.of();
+    private Thread drainer;
+    private volatile boolean running;
+    private boolean stopped;
+
+    @PostConstruct
+    public void start() {
+        enqueueLock.lock();
+        try {
+            if (queue != null) {
+                return;
+            }
+            queue = new LinkedBlockingQueue<>();
+            saveSlots = new Semaphore(queueCapacity);
+            running = true;
+            drainer = new Thread(this::drainLoop, "high-score-writer");
+            drainer.setDaemon(true);
+            drainer.start();
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    // Waits at most offer-timeout-ms for room and throws HighScoreWriterBusyException after that, so a
+    // backlog turns into rejected submissions instead of requests piling up behind the board locks.
+    public void save(HighScoreModel highScoreModel) {
+        try {
+            if (!saveSlots.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new HighScoreWriterBusyException("Too many high scores waiting to be saved, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing high score write", e);
+        }
+        enqueue(highScoreModel.id(), highScoreModel);
+    }
+
+    public void delete(String id) {
+        enqueue(id, null);
+    }
+
+    // Blocks until everything submitted so far has been written. After shutdown nothing is queued any more.
+    public void flush() {
+        long target;
+        enqueueLock.lock();
+        try {
+            target = enqueued;
+        } finally {
+            enqueueLock.unlock();
+        }
+        writtenLock.lock();
+        try {
+            while (writtenSequence < target && running) {
+                writtenAdvanced.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    public HighScoreWriterStats getStats() {
+        BlockingQueue<PendingWrite> current = queue;
+        return new HighScoreWriterStats(
+                current == null ? 0 : current.size(),
+                queueCapacity,
+                batches.sum(),
+                written.sum(),
+                coalesced.sum(),
+                failed.sum(),
+                failedBatches.sum(),
+                rejected.sum(),
+                TimeUnit.NANOSECONDS.toMillis(lastFlushNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxFlushNanos),
+                TimeUnit.NANOSECONDS.toMillis(totalFlushNanos.sum())
+        );
+    }
+
+    // Stops the drainer and writes whatever is still queued before the context goes away. The drainer is
+    // not interrupted: that would abort a saveAll in flight and lose its batch, so it is left to notice
+    // `running` at its next poll timeout.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // held throughout, so writes arriving meanwhile wait and land after everything queued before them
+        enqueueLock.lock();
+        try {
+            running = false;
+            stopped = true;
+            if (drainer != null) {
+                drainer.join(TimeUnit.SECONDS.toMillis(10));
+                if (drainer.isAlive()) {
+                    log.warn("High score writer did not finish its batch in time, draining the rest anyway");
+                }
+            }
+            drainRemaining();
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    private void enqueue(String id, HighScoreModel highScoreModel) {
+        enqueueLock.lock();
+        try {
+            PendingWrite pendingWrite = new PendingWrite(++enqueued, id, highScoreModel);
+            if (stopped || queue == null) {
+                // late writes during shutdown go straight to Mongo, nobody would drain the queue any more
+                if (!writeBatch(List.of(pendingWrite)).isEmpty()) {
+                    log.error("Lost high score change for {} after shutdown", id);
+                }
+                return;
+            }
+            queue.add(pendingWrite);
+        } finally {
+            enqueueLock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        List<PendingWrite> retry = List.of();
+        long retryDelayMs = 0;
+        while (running) {
+            try {
+                if (!retry.isEmpty()) {
+                    pause(retryDelayMs);
+                    batch.addAll(retry);
+                }
+                PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                    while (batch.size() < retry.size() + batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!running && batch.isEmpty()) {
+                break;
+            }
+            retry = writeBatch(batch);
+            retryDelayMs = retry.isEmpty() ? 0 : Math.min(Math.max(retryDelayMs * 2, flushIntervalMs), maxRetryDelayMs);
+            batch.clear();
+        }
+        unwritten = retry;
+    }
+
+    // Sleeps in flush-interval steps, so shutdown never waits for a whole back-off.
+    private void pause(long delayMs) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        long remaining;
+        while (running && (remaining = until - System.nanoTime()) > 0) {
+            Thread.sleep(Math.min(flushIntervalMs, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+        }
+    }
+
+    // Only used once the drainer thread has stopped; gets one more attempt at what it had to retry.
+    private void drainRemaining() {
+        if (queue == null) {
+            return;
+        }
+        List<PendingWrite> batch = new ArrayList<>(unwritten);
+        unwritten = List.of();
+        while (queue.drainTo(batch, batchSize) > 0 || !batch.isEmpty()) {
+            List<PendingWrite> lost = writeBatch(batch);
+            if (!lost.isEmpty()) {
+                log.error("Lost {} high score changes on shutdown", lost.size());
+            }
+            batch.clear();
+        }
+    }
+
+    // Returns the coalesced changes that could not be written; each save among them still holds its slot.
+    private List<PendingWrite> writeBatch(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        // last change per id wins, so a save followed by its eviction in the same batch becomes one delete
+        Map<String, PendingWrite> latest = new LinkedHashMap<>();
+        for (PendingWrite pendingWrite : batch) {
+            latest.remove(pendingWrite.id());
+            latest.put(pendingWrite.id(), pendingWrite);
+        }
+        List<HighScoreModel> saves = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (PendingWrite pendingWrite : latest.values()) {
+            if (pendingWrite.highScoreModel() == null) {
+                deletes.add(pendingWrite.id());
+            } else {
+                saves.add(pendingWrite.highScoreModel());
+            }
+        }
+        int slots = (int) batch.stream().filter(pendingWrite -> pendingWrite.highScoreModel() != null).count();
+
+        List<PendingWrite> retry = List.of();
+        try {
+            if (!saves.isEmpty()) {
+                highScoreRepository.saveAll(saves);
+            }
+            if (!deletes.isEmpty()) {
+                highScoreRepository.deleteAllById(deletes);
+            }
+            written.add(latest.size());
+        } catch (RuntimeException e) {
+            failed.add(latest.size());
+            failedBatches.increment();
+            log.warn("Failed to persist {} high score changes, retrying", latest.size(), e);
+            retry = new ArrayList<>(latest.values());
+            // coalesced-away saves are done with; the kept ones hold on to their slots until written
+            slots -= saves.size();
+        }
+        saveSlots.release(slots);
+
+        long elapsed = System.nanoTime() - start;
+        lastFlushNanos = elapsed;
+        maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+        totalFlushNanos.add(elapsed);
+        batches.increment();
+        coalesced.add(batch.size() - latest.size());
+        if (!retry.isEmpty()) {
+            return retry;
+        }
+
+        writtenLock.lock();
+        try {
+            writtenSequence = Math.max(writtenSequence, batch.getLast().sequence());
+            writtenAdvanced.signalAll();
+        } finally {
+            writtenLock.unlock();
+        }
+        return List.of();
+    }
+}
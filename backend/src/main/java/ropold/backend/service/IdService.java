@@ -2,6 +2,8 @@ package ropold.backend.service;
 
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -9,4 +11,12 @@ public class IdService {
     public String generateRandomId() {
         return UUID.randomUUID().toString();
     }
+
+    public List<String> generateRandomIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(generateRandomId());
+        }
+        return ids;
+    }
 }
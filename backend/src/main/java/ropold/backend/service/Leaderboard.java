@@ -0,0 +1,113 @@
+package ropold.backend.service;
+
+import ropold.backend.model.HighScoreModel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Bounded, sorted top-N list. Reads see an immutable snapshot; mutators must be called by a single writer.
+public class Leaderboard {
+
+    // Only these two fields decide whether a score beats another one.
+    public static final Comparator<HighScoreModel> SCORE = Comparator
+            .comparingInt(HighScoreModel::wrongAnswerCount)
+            .thenComparingDouble(HighScoreModel::scoreTime);
+
+    // Full order so that equal scores still have a stable position: earlier submissions first.
+    public static final Comparator<HighScoreModel> RANKING = SCORE
+            .thenComparing(HighScoreModel::date, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(HighScoreModel::id, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private final int capacity;
+    private volatile List<HighScoreModel> entries = List.of();
+
+    public record Admission(boolean accepted, int rank, HighScoreModel evicted) {
+        static final Admission REJECTED = new Admission(false, -1, null);
+    }
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public List<HighScoreModel> getEntries() {
+        return entries;
+    }
+
+    public boolean qualifies(HighScoreModel highScoreModel) {
+        List<HighScoreModel> current = entries;
+        // ties with the last place are rejected, the older entry keeps its spot
+        return current.size() < capacity || SCORE.compare(highScoreModel, current.getLast()) < 0;
+    }
+
+    // 1-based place a score would take; equal scores go behind the existing ones. Above capacity means no place.
+    public int rankOf(int wrongAnswerCount, double scoreTime) {
+        List<HighScoreModel> current = entries;
+        int low = 0;
+        int high = current.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            HighScoreModel entry = current.get(mid);
+            int compare = entry.wrongAnswerCount() != wrongAnswerCount
+                    ? Integer.compare(entry.wrongAnswerCount(), wrongAnswerCount)
+                    : Double.compare(entry.scoreTime(), scoreTime);
+            if (compare <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low + 1;
+    }
+
+    public boolean contains(String id) {
+        return entries.stream().anyMatch(highScoreModel -> highScoreModel.id().equals(id));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Admission offer(HighScoreModel highScoreModel) {
+        if (!qualifies(highScoreModel)) {
+            return Admission.REJECTED;
+        }
+        List<HighScoreModel> current = entries;
+        int rank = insertionPoint(current, highScoreModel);
+        List<HighScoreModel> next = new ArrayList<>(current.size() + 1);
+        next.addAll(current);
+        next.add(rank, highScoreModel);
+        HighScoreModel evicted = next.size() > capacity ? next.removeLast() : null;
+        entries = List.copyOf(next);
+        return new Admission(true, rank + 1, evicted);
+    }
+
+    public boolean remove(String id) {
+        List<HighScoreModel> current = entries;
+        List<HighScoreModel> next = current.stream()
+                .filter(highScoreModel -> !highScoreModel.id().equals(id))
+                .toList();
+        if (next.size() == current.size()) {
+            return false;
+        }
+        entries = next;
+        return true;
+    }
+
+    // Replaces the content and returns whatever did not fit, so callers can clean up surplus rows.
+    public List<HighScoreModel> reset(Collection<HighScoreModel> highScoreModels) {
+        List<HighScoreModel> sorted = new ArrayList<>(highScoreModels);
+        sorted.sort(RANKING);
+        int size = Math.min(capacity, sorted.size());
+        entries = List.copyOf(sorted.subList(0, size));
+        return List.copyOf(sorted.subList(size, sorted.size()));
+    }
+
+    private static int insertionPoint(List<HighScoreModel> sorted, HighScoreModel highScoreModel) {
+        int index = Collections.binarySearch(sorted, highScoreModel, RANKING);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -0,0 +1,163 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ropold.backend.model.LeaderboardEvent;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Fans leaderboard changes out to SSE subscribers. Each change is serialized and built into its SSE frame
+// once; every connection gets a small queue of frames that at most one writer task at a time sends, so a
+// slow client only delays itself and is dropped once its queue is full. Idle connections hold no thread.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardBroadcaster {
+
+    private static final String EVENT_NAME = "leaderboard";
+    private static final long HEARTBEAT_SECONDS = 25;
+    private static final int MAX_PENDING_EVENTS = 64;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leaderboard-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean heartbeatScheduled;
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> pending =
+                new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!pending.offer(frame)) {
+                drop(this, new IllegalStateException("Subscriber fell " + MAX_PENDING_EVENTS + " events behind"));
+                return;
+            }
+            scheduleWrite();
+        }
+
+        private void scheduleWrite() {
+            if (writing.compareAndSet(false, true)) {
+                writers.execute(this::write);
+            }
+        }
+
+        private void write() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while ((frame = pending.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(this, e);
+                return;
+            } finally {
+                writing.set(false);
+            }
+            // a frame offered between the last poll and resetting the flag would otherwise wait for the next one
+            if (!pending.isEmpty()) {
+                scheduleWrite();
+            }
+        }
+    }
+
+    public SseEmitter subscribe() {
+        // no timeout: the heartbeat finds dead connections instead
+        SseEmitter emitter = new SseEmitter(0L);
+        register(emitter);
+        return emitter;
+    }
+
+    // Only queues the frame, so it is cheap to call while holding a leaderboard lock; that also keeps the
+    // events of one category in order on every connection.
+    public void publish(LeaderboardEvent leaderboardEvent) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(leaderboardEvent);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize leaderboard event", e);
+        }
+        sendToAll(SseEmitter.event().name(EVENT_NAME).data(json, MediaType.APPLICATION_JSON));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        writers.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    void register(SseEmitter emitter) {
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.put(emitter, new Subscriber(emitter));
+        scheduleHeartbeat();
+    }
+
+    private void scheduleHeartbeat() {
+        if (heartbeatScheduled) {
+            return;
+        }
+        synchronized (this) {
+            if (!heartbeatScheduled) {
+                heartbeat.scheduleAtFixedRate(() -> {
+                    if (!subscribers.isEmpty()) {
+                        sendToAll(SseEmitter.event().comment("heartbeat"));
+                    }
+                }, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                heartbeatScheduled = true;
+            }
+        }
+    }
+
+    // build() appends to the builder on every call, so it is called exactly once per event.
+    private void sendToAll(SseEmitter.SseEventBuilder event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = event.build();
+        subscribers.values().forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        // the client went away or can't keep up; drop it instead of holding back the other subscribers
+        if (subscribers.remove(subscriber.emitter, subscriber)) {
+            subscriber.emitter.completeWithError(e);
+            log.debug("Dropped leaderboard subscriber: {}", e.getMessage());
+        }
+    }
+}
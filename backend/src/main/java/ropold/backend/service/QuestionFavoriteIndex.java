@@ -0,0 +1,243 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.MigrationModel;
+import ropold.backend.model.QuestionFavoriteModel;
+import ropold.backend.repository.QuestionFavoriteRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Reverse side of AppUser.favoriteQuestions: which users favorited a question. Kept in sync by
+// AppUserService so cascades and counts are index lookups instead of scans over all users. Favorites
+// from before the index existed are backfilled once; a single failed index write is repaired later
+// from the user document, which stays the source of truth.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionFavoriteIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final String BACKFILL_MIGRATION = "question-favorite-index-backfill";
+    // index of the first version, nothing ever queried by user alone
+    private static final String UNUSED_USER_INDEX = "user";
+
+    private final QuestionFavoriteRepository questionFavoriteRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AppUserCache appUserCache;
+
+    private final Set<Favorite> needsRepair = ConcurrentHashMap.newKeySet();
+
+    private record Favorite(String userId, String questionId) {
+    }
+
+    public void add(String userId, String questionId) {
+        questionFavoriteRepository.save(entry(userId, questionId));
+    }
+
+    public void remove(String userId, Collection<String> questionIds) {
+        questionFavoriteRepository.deleteAllById(questionIds.stream().map(questionId -> id(userId, questionId)).toList());
+    }
+
+    public List<String> getUserIds(String questionId) {
+        return questionFavoriteRepository.findAllByQuestionId(questionId).stream()
+                .map(QuestionFavoriteModel::userId)
+                .toList();
+    }
+
+    public long countFavorites(String questionId) {
+        return questionFavoriteRepository.countByQuestionId(questionId);
+    }
+
+    public Map<String, Long> countFavorites(Collection<String> questionIds) {
+        return groupCounts(Aggregation.match(Criteria.where("questionId").in(questionIds)));
+    }
+
+    public Map<String, Long> countAllFavorites() {
+        return groupCounts();
+    }
+
+    // A user favoriting the question while this runs may keep a dangling id; the favorites resolver prunes those.
+    public void removeQuestion(String questionId) {
+        List<String> userIds = getUserIds(questionId);
+        if (!userIds.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(userIds)),
+                    new Update().pull("favoriteQuestions", questionId),
+                    AppUser.class);
+            userIds.forEach(appUserCache::invalidate);
+        }
+        questionFavoriteRepository.deleteAllByQuestionId(questionId);
+    }
+
+    // Remembers favorites whose index write failed; the next repair() syncs them with the user.
+    public void repairLater(String userId, Collection<String> questionIds) {
+        questionIds.forEach(questionId -> needsRepair.add(new Favorite(userId, questionId)));
+    }
+
+    // Looks at the user instead of replaying the failed write, so it can't undo a later toggle.
+    @Scheduled(fixedDelayString = "${app.favorites.repair-interval-ms:10000}")
+    public void repair() {
+        List<Favorite> favorites = new ArrayList<>();
+        for (Favorite favorite : needsRepair) {
+            if (needsRepair.remove(favorite)) {
+                favorites.add(favorite);
+            }
+        }
+        if (favorites.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Set<String>> favoritesByUser = favoritesOf(favorites.stream().map(Favorite::userId).distinct().toList());
+            List<QuestionFavoriteModel> present = new ArrayList<>();
+            List<String> absent = new ArrayList<>();
+            for (Favorite favorite : favorites) {
+                if (favoritesByUser.getOrDefault(favorite.userId(), Set.of()).contains(favorite.questionId())) {
+                    present.add(entry(favorite.userId(), favorite.questionId()));
+                } else {
+                    absent.add(id(favorite.userId(), favorite.questionId()));
+                }
+            }
+            if (!present.isEmpty()) {
+                questionFavoriteRepository.saveAll(present);
+            }
+            if (!absent.isEmpty()) {
+                questionFavoriteRepository.deleteAllById(absent);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not repair {} question favorite index entries, retrying later", favorites.size(), e);
+            needsRepair.addAll(favorites);
+        }
+    }
+
+    // Fills the index from the users once; the marker keeps later startups from streaming every user
+    // again. Entries that went stale while it ran (a favorite removed between reading the user and
+    // saving its entries) are deleted by the second pass.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void rebuild() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(BACKFILL_MIGRATION)), MigrationModel.class)) {
+            return;
+        }
+        long saved = backfillFromUsers();
+        long deleted = deleteStaleEntries();
+        dropUnusedUserIndex();
+        mongoTemplate.save(new MigrationModel(BACKFILL_MIGRATION, LocalDateTime.now()));
+        log.info("Backfilled question favorite index: {} entries saved, {} stale entries deleted", saved, deleted);
+    }
+
+    private long backfillFromUsers() {
+        Query query = new Query(Criteria.where("favoriteQuestions.0").exists(true));
+        query.fields().include("favoriteQuestions");
+        List<QuestionFavoriteModel> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        long entries = 0;
+        try (Stream<AppUser> appUsers = mongoTemplate.stream(query, AppUser.class)) {
+            for (AppUser appUser : (Iterable<AppUser>) appUsers::iterator) {
+                for (String questionId : appUser.favoriteQuestions()) {
+                    batch.add(entry(appUser.id(), questionId));
+                    if (batch.size() == REBUILD_BATCH_SIZE) {
+                        questionFavoriteRepository.saveAll(batch);
+                        entries += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            questionFavoriteRepository.saveAll(batch);
+            entries += batch.size();
+        }
+        return entries;
+    }
+
+    private long deleteStaleEntries() {
+        List<QuestionFavoriteModel> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        long deleted = 0;
+        try (Stream<QuestionFavoriteModel> entries = mongoTemplate.stream(new Query(), QuestionFavoriteModel.class)) {
+            for (QuestionFavoriteModel entry : (Iterable<QuestionFavoriteModel>) entries::iterator) {
+                batch.add(entry);
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    deleted += deleteStale(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += deleteStale(batch);
+        }
+        return deleted;
+    }
+
+    private long deleteStale(List<QuestionFavoriteModel> entries) {
+        // an entry is only indexed after its $addToSet, so a user read after the entry was seen has the favorite
+        Map<String, Set<String>> favoritesByUser = favoritesOf(entries.stream().map(QuestionFavoriteModel::userId).distinct().toList());
+        List<String> staleIds = entries.stream()
+                .filter(entry -> !favoritesByUser.getOrDefault(entry.userId(), Set.of()).contains(entry.questionId()))
+                .map(QuestionFavoriteModel::id)
+                .toList();
+        if (!staleIds.isEmpty()) {
+            questionFavoriteRepository.deleteAllById(staleIds);
+        }
+        return staleIds.size();
+    }
+
+    private void dropUnusedUserIndex() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(QuestionFavoriteModel.class);
+        if (indexOperations.getIndexInfo().stream().anyMatch(index -> index.getName().equals(UNUSED_USER_INDEX))) {
+            indexOperations.dropIndex(UNUSED_USER_INDEX);
+        }
+    }
+
+    private Map<String, Set<String>> favoritesOf(List<String> userIds) {
+        Query query = Query.query(Criteria.where("_id").in(userIds));
+        query.fields().include("favoriteQuestions");
+        Map<String, Set<String>> favoritesByUser = new HashMap<>();
+        for (AppUser appUser : mongoTemplate.find(query, AppUser.class)) {
+            favoritesByUser.put(appUser.id(),
+                    appUser.favoriteQuestions() == null ? Set.of() : new HashSet<>(appUser.favoriteQuestions()));
+        }
+        return favoritesByUser;
+    }
+
+    private Map<String, Long> groupCounts(AggregationOperation... filters) {
+        List<AggregationOperation> operations = new ArrayList<>(List.of(filters));
+        operations.add(Aggregation.group("questionId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(
+                Aggregation.newAggregation(operations), QuestionFavoriteModel.class, Document.class)) {
+            counts.put(group.getString("_id"), ((Number) group.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private static QuestionFavoriteModel entry(String userId, String questionId) {
+        return new QuestionFavoriteModel(id(userId, questionId), questionId, userId);
+    }
+
+    private static String id(String userId, String questionId) {
+        return questionId + ":" + userId;
+    }
+}
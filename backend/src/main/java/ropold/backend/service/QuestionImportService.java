@@ -0,0 +1,130 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.QuestionImportResult;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionModelDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class QuestionImportService {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final QuestionService questionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.import.chunk-size:" + DEFAULT_BATCH_SIZE + "}")
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // Accepts a JSON array or NDJSON; only one record and one batch are held in memory at a time.
+    public void importQuestions(InputStream inputStream, OutputStream outputStream) throws IOException {
+        List<QuestionModel> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndices = new ArrayList<>(batchSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                QuestionModelDto questionModelDto = null;
+                String error;
+                try {
+                    JsonNode node = parser.readValueAsTree();
+                    if (node == null || !node.isObject()) {
+                        // null, numbers, strings or nested arrays can't be a question; skip just this record
+                        error = "Expected a JSON object";
+                    } else {
+                        questionModelDto = objectMapper.treeToValue(node, QuestionModelDto.class);
+                        error = validate(questionModelDto);
+                    }
+                } catch (JsonParseException e) {
+                    // the parser cannot resync after a syntax error, so the rest of the stream is dropped
+                    writeResult(outputStream, new QuestionImportResult(index, null, false,
+                            "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonProcessingException e) {
+                    error = e.getOriginalMessage();
+                }
+
+                if (error != null) {
+                    writeResult(outputStream, new QuestionImportResult(index, null, false, error));
+                } else {
+                    batch.add(toQuestionModel(questionModelDto));
+                    batchIndices.add(index);
+                    if (batch.size() >= batchSize) {
+                        flush(batch, batchIndices, outputStream);
+                    }
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        }
+        flush(batch, batchIndices, outputStream);
+    }
+
+    private String validate(QuestionModelDto questionModelDto) {
+        Set<ConstraintViolation<QuestionModelDto>> violations = validator.validate(questionModelDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void flush(List<QuestionModel> batch, List<Integer> batchIndices, OutputStream outputStream) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (QuestionImportResult result : questionService.addQuestions(batch)) {
+            writeResult(outputStream, new QuestionImportResult(
+                    batchIndices.get(result.index()), result.id(), result.success(), result.error()));
+        }
+        batch.clear();
+        batchIndices.clear();
+        outputStream.flush();
+    }
+
+    private void writeResult(OutputStream outputStream, QuestionImportResult result) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(result));
+        outputStream.write('\n');
+    }
+
+    private static QuestionModel toQuestionModel(QuestionModelDto questionModelDto) {
+        return new QuestionModel(
+                null,
+                questionModelDto.title(),
+                questionModelDto.categoryEnum(),
+                questionModelDto.clueWords(),
+                questionModelDto.solutionWord(),
+                questionModelDto.answerExplanation(),
+                questionModelDto.isActive(),
+                questionModelDto.githubId(),
+                null
+        );
+    }
+}
@@ -0,0 +1,236 @@
+package ropold.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.MigrationModel;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionStatsModel;
+import ropold.backend.repository.QuestionStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Counts plays and answers per question in memory and pushes the deltas to Mongo as one bulk of $inc
+// upserts every few seconds, so no request waits for a stats write. Favorites are not counted here:
+// a favorite change only marks the question, and the flush copies its count from the favorite index.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionPopularityTracker {
+
+    private static final String FAVORITES_SEED_MIGRATION = "question-stats-favorites-seed";
+
+    private final MongoTemplate mongoTemplate;
+    private final QuestionStatsRepository questionStatsRepository;
+    private final ActiveQuestionCache activeQuestionCache;
+    private final QuestionFavoriteIndex questionFavoriteIndex;
+
+    // Updated with compute(), so a flush can take an entry and remove it in one step without losing increments.
+    private final ConcurrentMap<String, Counters> pending = new ConcurrentHashMap<>();
+    private final Set<String> favoritesChanged = ConcurrentHashMap.newKeySet();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+    private static final class Counters {
+        long plays;
+        long correctAnswers;
+        long wrongAnswers;
+    }
+
+    private record Delta(String id, long plays, long correctAnswers, long wrongAnswers) {
+    }
+
+    public void favoriteAdded(String questionId) {
+        favoritesChanged.add(questionId);
+    }
+
+    public void favoriteRemoved(String questionId) {
+        favoritesChanged.add(questionId);
+    }
+
+    public void played(String questionId) {
+        pending.compute(questionId, (id, counters) -> {
+            Counters updated = counters == null ? new Counters() : counters;
+            updated.plays++;
+            return updated;
+        });
+    }
+
+    public void answered(String questionId, boolean correct) {
+        pending.compute(questionId, (id, counters) -> {
+            Counters updated = counters == null ? new Counters() : counters;
+            if (correct) {
+                updated.correctAnswers++;
+            } else {
+                updated.wrongAnswers++;
+            }
+            return updated;
+        });
+    }
+
+    public List<QuestionStatsModel> getPopular(CategoryEnum categoryEnum, int limit) {
+        return categoryEnum == null
+                ? questionStatsRepository.findAllByOrderByFavoritesDescPlaysDesc(Limit.of(limit))
+                : questionStatsRepository.findAllByCategoryEnumOrderByFavoritesDescPlaysDesc(categoryEnum, Limit.of(limit));
+    }
+
+    // Drops the stats right away; the id is also remembered so the next flush can't upsert them back.
+    public void remove(String questionId) {
+        removed.add(questionId);
+        pending.remove(questionId);
+        favoritesChanged.remove(questionId);
+        questionStatsRepository.deleteById(questionId);
+    }
+
+    // Runs once, after the favorite index is backfilled, so favorites from before the tracker existed get
+    // their real count; every later change comes in through favoriteAdded/favoriteRemoved.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void seedFavorites() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(FAVORITES_SEED_MIGRATION)), MigrationModel.class)) {
+            return;
+        }
+        favoritesChanged.addAll(questionFavoriteIndex.countAllFavorites().keySet());
+        // a failed flush keeps its ids queued, so the next scheduled flush finishes the seed
+        flush();
+        mongoTemplate.save(new MigrationModel(FAVORITES_SEED_MIGRATION, LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Set<String> removedIds = take(removed);
+        List<Delta> deltas = drain();
+        Set<String> favoriteIds = take(favoritesChanged);
+        deltas.removeIf(delta -> removedIds.contains(delta.id()));
+        favoriteIds.removeAll(removedIds);
+
+        Set<String> touched = new HashSet<>(favoriteIds);
+        deltas.forEach(delta -> touched.add(delta.id()));
+        if (touched.isEmpty() && removedIds.isEmpty()) {
+            return;
+        }
+        // ids of questions that don't exist (any more) are dropped instead of getting a stats document
+        Map<String, CategoryEnum> categories = existingQuestions(touched);
+        Map<String, Long> favoriteCounts = favoriteIds.isEmpty()
+                ? Map.of()
+                : questionFavoriteIndex.countFavorites(favoriteIds);
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionStatsModel.class);
+        Map<String, Update> updates = new HashMap<>();
+        for (Delta delta : deltas) {
+            if (categories.containsKey(delta.id())) {
+                updates.computeIfAbsent(delta.id(), id -> new Update())
+                        .inc("plays", delta.plays())
+                        .inc("correctAnswers", delta.correctAnswers())
+                        .inc("wrongAnswers", delta.wrongAnswers());
+            }
+        }
+        for (String id : favoriteIds) {
+            if (categories.containsKey(id)) {
+                updates.computeIfAbsent(id, i -> new Update()).set("favorites", favoriteCounts.getOrDefault(id, 0L));
+            }
+        }
+        updates.forEach((id, update) -> {
+            CategoryEnum categoryEnum = categories.get(id);
+            if (categoryEnum != null) {
+                update.set("categoryEnum", categoryEnum);
+            }
+            bulkOperations.upsert(Query.query(Criteria.where("_id").is(id)), update);
+        });
+        // runs after the upserts, in case one of them raced with remove()
+        removedIds.forEach(id -> bulkOperations.remove(Query.query(Criteria.where("_id").is(id))));
+        if (updates.isEmpty() && removedIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            bulkOperations.execute();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush popularity counters for {} questions, retrying with the next flush", updates.size(), e);
+            deltas.forEach(this::restore);
+            favoritesChanged.addAll(favoriteIds);
+            removed.addAll(removedIds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Takes and removes each entry atomically, so increments racing with the drain start a fresh entry.
+    private List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>();
+        for (String id : pending.keySet()) {
+            pending.computeIfPresent(id, (key, counters) -> {
+                deltas.add(new Delta(key, counters.plays, counters.correctAnswers, counters.wrongAnswers));
+                return null;
+            });
+        }
+        return deltas;
+    }
+
+    private void restore(Delta delta) {
+        pending.compute(delta.id(), (id, counters) -> {
+            Counters updated = counters == null ? new Counters() : counters;
+            updated.plays += delta.plays();
+            updated.correctAnswers += delta.correctAnswers();
+            updated.wrongAnswers += delta.wrongAnswers();
+            return updated;
+        });
+    }
+
+    private Map<String, CategoryEnum> existingQuestions(Set<String> ids) {
+        Map<String, CategoryEnum> categories = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        Map<String, QuestionModel> active = activeQuestionCache.getSnapshot().byId();
+        for (String id : ids) {
+            QuestionModel questionModel = active.get(id);
+            if (questionModel != null) {
+                categories.put(id, questionModel.categoryEnum());
+            } else {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            Query query = Query.query(Criteria.where("_id").in(unknown));
+            query.fields().include("categoryEnum");
+            // inactive questions still count; HashMap allows the null category of very old rows
+            for (Document document : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(QuestionModel.class))) {
+                String categoryEnum = document.getString("categoryEnum");
+                categories.put(document.getString("_id"), categoryEnum == null ? null : CategoryEnum.valueOf(categoryEnum));
+            }
+        }
+        return categories;
+    }
+
+    private static Set<String> take(Set<String> ids) {
+        Set<String> taken = new HashSet<>();
+        for (String id : ids) {
+            if (ids.remove(id)) {
+                taken.add(id);
+            }
+        }
+        return taken;
+    }
+}
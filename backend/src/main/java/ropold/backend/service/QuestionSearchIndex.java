@@ -0,0 +1,216 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionModel;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SOLUTION_WEIGHT = 2;
+    private static final int CLUE_WEIGHT = 1;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ActiveQuestionCache activeQuestionCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // token -> (question id -> field weight); sorted so prefixes are a range lookup
+    private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> tokensById = new HashMap<>();
+    private final Map<String, CategoryEnum> categoryById = new HashMap<>();
+    private boolean loaded;
+
+    public List<String> search(String query, CategoryEnum categoryEnum, int limit) {
+        return search(query, categoryEnum, limit, id -> true);
+    }
+
+    // Ids the caller can't use (e.g. no longer in its snapshot) are skipped before the limit, so they
+    // don't take places from hits further down.
+    public List<String> search(String query, CategoryEnum categoryEnum, int limit, Predicate<String> accept) {
+        List<String> queryTokens = List.copyOf(tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> scores = null;
+            for (String queryToken : queryTokens) {
+                Map<String, Integer> tokenScores = scoreToken(queryToken, categoryEnum);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // every query token has to match, so only keep ids seen for all of them
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .filter(accept)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(QuestionModel questionModel) {
+        putAll(List.of(questionModel));
+    }
+
+    public void putAll(Collection<QuestionModel> questionModels) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (QuestionModel questionModel : questionModels) {
+                removeUnlocked(questionModel.id());
+                if (questionModel.isActive()) {
+                    addUnlocked(questionModel);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tokensById.clear();
+            categoryById.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Integer> scoreToken(String queryToken, CategoryEnum categoryEnum) {
+        Map<String, Integer> scores = new HashMap<>();
+        Map<String, Integer> exact = postings.get(queryToken);
+        if (exact != null) {
+            // exact hits count double so "nil" ranks "Nil" above "Nilpferd"
+            exact.forEach((id, weight) -> addScore(scores, id, weight * 2, categoryEnum));
+        }
+        if (queryToken.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(matches -> matches.forEach((id, weight) -> addScore(scores, id, weight, categoryEnum)));
+        }
+        return scores;
+    }
+
+    private void addScore(Map<String, Integer> scores, String id, int score, CategoryEnum categoryEnum) {
+        if (categoryEnum == null || categoryEnum == categoryById.get(id)) {
+            scores.merge(id, score, Math::max);
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                activeQuestionCache.getActiveQuestions().forEach(this::addUnlocked);
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addUnlocked(QuestionModel questionModel) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(questionModel.title()).forEach(token -> weights.merge(token, TITLE_WEIGHT, Math::max));
+        tokenize(questionModel.solutionWord()).forEach(token -> weights.merge(token, SOLUTION_WEIGHT, Math::max));
+        if (questionModel.clueWords() != null) {
+            questionModel.clueWords().forEach(clueWord ->
+                    tokenize(clueWord).forEach(token -> weights.merge(token, CLUE_WEIGHT, Math::max)));
+        }
+
+        weights.forEach((token, weight) ->
+                postings.computeIfAbsent(token, t -> new HashMap<>()).put(questionModel.id(), weight));
+        tokensById.put(questionModel.id(), weights.keySet());
+        categoryById.put(questionModel.id(), questionModel.categoryEnum());
+    }
+
+    private void removeUnlocked(String id) {
+        Set<String> tokens = tokensById.remove(id);
+        categoryById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<String, Integer> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,29 @@
 package ropold.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
+import ropold.backend.exception.InvalidCursorException;
 import ropold.backend.exception.QuestionNotFoundException;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.FavoriteCount;
+import ropold.backend.model.QuestionImportResult;
 import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionPage;
+import ropold.backend.model.QuestionSummary;
 import ropold.backend.repository.QuestionRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -14,18 +31,81 @@ public class QuestionService {
 
     private final IdService idService;
     private final QuestionRepository questionRepository;
+    private final MongoTemplate mongoTemplate;
     private final CloudinaryService cloudinaryService;
+    private final ActiveQuestionCache activeQuestionCache;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final QuestionSummaryCache questionSummaryCache;
+    private final QuestionPopularityTracker questionPopularityTracker;
+    private final QuestionFavoriteIndex questionFavoriteIndex;
+    private final CollectionVersion questionVersion = new CollectionVersion();
+
+    private static final int DEFAULT_IMPORT_CHUNK_SIZE = 500;
+
+    @Value("${app.import.chunk-size:" + DEFAULT_IMPORT_CHUNK_SIZE + "}")
+    private int importChunkSize = DEFAULT_IMPORT_CHUNK_SIZE;
+
+    public String getQuestionsEtag() {
+        return questionVersion.etag();
+    }
 
     public List<QuestionModel> getAllQuestions() {
         return questionRepository.findAll();
     }
 
+    public byte[] getAllQuestionSummariesJson() {
+        return questionSummaryCache.get("all", questionVersion.get(),
+                () -> questionRepository.findAllBy(QuestionSummary.class));
+    }
+
+    public byte[] getActiveQuestionSummariesJson() {
+        ActiveQuestionCache.Snapshot snapshot = activeQuestionCache.getSnapshot();
+        return questionSummaryCache.get("active", snapshot.version(),
+                () -> snapshot.all().stream().map(QuestionService::toSummary).toList());
+    }
+
+    public List<QuestionSummary> getQuestionSummariesForGithubUser(String githubId) {
+        return questionRepository.findAllByGithubId(githubId, QuestionSummary.class);
+    }
+
+    public Stream<QuestionModel> streamAllQuestions() {
+        return questionRepository.streamAllBy();
+    }
+
     public List<QuestionModel> getActiveQuestions() {
-        return questionRepository.findAll().stream()
-                .filter(QuestionModel::isActive)
+        return activeQuestionCache.getActiveQuestions();
+    }
+
+    public List<QuestionModel> getRandomDeck(CategoryEnum categoryEnum, int size) {
+        return activeQuestionCache.randomQuestions(categoryEnum, size);
+    }
+
+    public List<QuestionModel> searchQuestions(String query, CategoryEnum categoryEnum, int limit) {
+        Map<String, QuestionModel> activeQuestionsById = activeQuestionCache.getSnapshot().byId();
+        return questionSearchIndex.search(query, categoryEnum, limit, activeQuestionsById::containsKey).stream()
+                .map(activeQuestionsById::get)
                 .toList();
     }
 
+    public QuestionPage getQuestionPage(String cursor, int limit) {
+        return toPage(questionRepository.findAllByIdGreaterThanOrderByIdAsc(
+                decodeCursor(cursor), Limit.of(limit + 1)), limit);
+    }
+
+    public QuestionPage getActiveQuestionPage(CategoryEnum categoryEnum, String cursor, int limit) {
+        List<QuestionModel> questionModels = categoryEnum == null
+                ? questionRepository.findAllByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                        decodeCursor(cursor), Limit.of(limit + 1))
+                : questionRepository.findAllByIsActiveTrueAndCategoryEnumAndIdGreaterThanOrderByIdAsc(
+                        categoryEnum, decodeCursor(cursor), Limit.of(limit + 1));
+        return toPage(questionModels, limit);
+    }
+
+    public QuestionPage getQuestionPageForGithubUser(String githubId, String cursor, int limit) {
+        return toPage(questionRepository.findAllByGithubIdAndIdGreaterThanOrderByIdAsc(
+                githubId, decodeCursor(cursor), Limit.of(limit + 1)), limit);
+    }
+
     public QuestionModel getQuestionById(String id) {
         return questionRepository.findById(id)
                 .orElseThrow(() -> new QuestionNotFoundException("Question not found"));
@@ -36,19 +116,48 @@ public class QuestionService {
     }
 
     public QuestionModel addQuestion(QuestionModel questionModel) {
-        QuestionModel newQuestionModel = new QuestionModel(
-                idService.generateRandomId(),
-                questionModel.title(),
-                questionModel.categoryEnum(),
-                questionModel.clueWords(),
-                questionModel.solutionWord(),
-                questionModel.answerExplanation(),
-                questionModel.isActive(),
-                questionModel.githubId(),
-                questionModel.imageUrl()
-        );
-        return questionRepository.save(newQuestionModel);
+        QuestionModel newQuestionModel = withId(questionModel, idService.generateRandomId());
+        QuestionModel savedQuestionModel = questionRepository.save(newQuestionModel);
+        activeQuestionCache.put(savedQuestionModel);
+        questionSearchIndex.put(savedQuestionModel);
+        questionVersion.bump();
+        return savedQuestionModel;
+    }
+
+    public List<QuestionImportResult> addQuestions(List<QuestionModel> questionModels) {
+        List<String> ids = idService.generateRandomIds(questionModels.size());
+        List<QuestionImportResult> results = new ArrayList<>(questionModels.size());
+        List<QuestionModel> insertedQuestionModels = new ArrayList<>(questionModels.size());
 
+        // earlier chunks are committed even if a later one fails hard, so the caches must see them either way
+        try {
+            for (int start = 0; start < questionModels.size(); start += importChunkSize) {
+                int end = Math.min(start + importChunkSize, questionModels.size());
+                List<QuestionModel> chunk = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    chunk.add(withId(questionModels.get(i), ids.get(i)));
+                }
+
+                Map<Integer, String> failures = insertChunk(chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    QuestionModel questionModel = chunk.get(i);
+                    String error = failures.get(i);
+                    if (error == null) {
+                        insertedQuestionModels.add(questionModel);
+                        results.add(new QuestionImportResult(start + i, questionModel.id(), true, null));
+                    } else {
+                        results.add(new QuestionImportResult(start + i, null, false, error));
+                    }
+                }
+            }
+        } finally {
+            if (!insertedQuestionModels.isEmpty()) {
+                activeQuestionCache.putAll(insertedQuestionModels);
+                questionSearchIndex.putAll(insertedQuestionModels);
+                questionVersion.bump();
+            }
+        }
+        return results;
     }
 
     public QuestionModel updateQuestion(QuestionModel questionModel) {
@@ -62,7 +171,11 @@ public class QuestionService {
             cloudinaryService.deleteImage(existingQuestion.imageUrl());
         }
 
-        return questionRepository.save(questionModel);
+        QuestionModel savedQuestionModel = questionRepository.save(questionModel);
+        activeQuestionCache.put(savedQuestionModel);
+        questionSearchIndex.put(savedQuestionModel);
+        questionVersion.bump();
+        return savedQuestionModel;
     }
 
     public void deleteQuestion(String id) {
@@ -73,12 +186,19 @@ public class QuestionService {
             cloudinaryService.deleteImage(questionModel.imageUrl());
         }
         questionRepository.deleteById(id);
+        activeQuestionCache.remove(id);
+        questionSearchIndex.remove(id);
+        questionPopularityTracker.remove(id);
+        questionFavoriteIndex.removeQuestion(id);
+        questionVersion.bump();
+    }
+
+    public FavoriteCount getFavoriteCount(String id) {
+        return new FavoriteCount(id, questionFavoriteIndex.countFavorites(id));
     }
 
     public List<QuestionModel> getQuestionsForGithubUser(String githubId) {
-        return questionRepository.findAll().stream()
-                .filter(questionModel -> questionModel.githubId().equals(githubId))
-                .toList();
+        return questionRepository.findAllByGithubId(githubId);
     }
 
     public QuestionModel toggleQuestionActive(String id) {
@@ -96,6 +216,72 @@ public class QuestionService {
                 questionModel.githubId(),
                 questionModel.imageUrl()
         );
-        return questionRepository.save(updatedQuestionModel);
+        QuestionModel savedQuestionModel = questionRepository.save(updatedQuestionModel);
+        activeQuestionCache.put(savedQuestionModel);
+        questionSearchIndex.put(savedQuestionModel);
+        questionVersion.bump();
+        return savedQuestionModel;
+    }
+
+    // Unordered so one bad document does not stop the rest of the chunk.
+    private Map<Integer, String> insertChunk(List<QuestionModel> chunk) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionModel.class)
+                    .insert(chunk)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+            return failures;
+        }
+    }
+
+    private static QuestionModel withId(QuestionModel questionModel, String id) {
+        return new QuestionModel(
+                id,
+                questionModel.title(),
+                questionModel.categoryEnum(),
+                questionModel.clueWords(),
+                questionModel.solutionWord(),
+                questionModel.answerExplanation(),
+                questionModel.isActive(),
+                questionModel.githubId(),
+                questionModel.imageUrl()
+        );
+    }
+
+    private static QuestionSummary toSummary(QuestionModel questionModel) {
+        return new QuestionSummary(
+                questionModel.id(),
+                questionModel.title(),
+                questionModel.categoryEnum(),
+                questionModel.isActive(),
+                questionModel.githubId(),
+                questionModel.imageUrl()
+        );
+    }
+
+    // One extra row is fetched to know whether another page exists without a count query.
+    private static QuestionPage toPage(List<QuestionModel> questionModels, int limit) {
+        boolean hasMore = questionModels.size() > limit;
+        List<QuestionModel> page = hasMore ? questionModels.subList(0, limit) : questionModels;
+        String nextCursor = hasMore ? encodeCursor(page.getLast().id()) : null;
+        return new QuestionPage(page, nextCursor, hasMore);
+    }
+
+    private static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
     }
 }
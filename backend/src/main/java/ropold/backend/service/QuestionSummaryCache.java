@@ -0,0 +1,42 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.QuestionSummary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionSummaryCache {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, SerializedSummaries> entries = new ConcurrentHashMap<>();
+
+    private record SerializedSummaries(long version, byte[] json) {
+    }
+
+    public byte[] get(String key, long version, Supplier<List<QuestionSummary>> loader) {
+        SerializedSummaries current = entries.get(key);
+        if (current != null && current.version() == version) {
+            return current.json();
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(loader.get());
+            entries.merge(key, new SerializedSummaries(version, json),
+                    (existing, loaded) -> existing.version() > loaded.version() ? existing : loaded);
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing question summaries: " + key, e);
+        }
+    }
+
+    public void invalidate() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package ropold.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-memory 2D histogram: one row per wrong answer count, one column per scoreTime bucket.
+// The last row and column collect everything beyond the range, so memory never grows.
+public class ScoreHistogram {
+
+    public static final int WRONG_ANSWER_ROWS = 12;
+    public static final int SCORE_TIME_BUCKETS = 181;
+    public static final double SCORE_TIME_BUCKET_SECONDS = 1.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(WRONG_ANSWER_ROWS * SCORE_TIME_BUCKETS);
+
+    public void record(int wrongAnswerCount, double scoreTime) {
+        add(wrongAnswerCount, scoreTime, 1);
+    }
+
+    public void add(int wrongAnswerCount, double scoreTime, long games) {
+        counts.addAndGet(row(wrongAnswerCount) * SCORE_TIME_BUCKETS + column(scoreTime), games);
+    }
+
+    public long getGames() {
+        long games = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            games += counts.get(i);
+        }
+        return games;
+    }
+
+    public List<Long> getWrongAnswerBuckets() {
+        List<Long> buckets = new ArrayList<>(WRONG_ANSWER_ROWS);
+        for (int row = 0; row < WRONG_ANSWER_ROWS; row++) {
+            long sum = 0;
+            for (int column = 0; column < SCORE_TIME_BUCKETS; column++) {
+                sum += counts.get(row * SCORE_TIME_BUCKETS + column);
+            }
+            buckets.add(sum);
+        }
+        return buckets;
+    }
+
+    public List<Long> getScoreTimeBuckets() {
+        List<Long> buckets = new ArrayList<>(SCORE_TIME_BUCKETS);
+        for (int column = 0; column < SCORE_TIME_BUCKETS; column++) {
+            long sum = 0;
+            for (int row = 0; row < WRONG_ANSWER_ROWS; row++) {
+                sum += counts.get(row * SCORE_TIME_BUCKETS + column);
+            }
+            buckets.add(sum);
+        }
+        return buckets;
+    }
+
+    // Upper bound of the bucket that holds the given percentile; -1 when nothing was recorded.
+    public double getScoreTimePercentile(double percentile) {
+        int bucket = percentileBucket(getScoreTimeBuckets(), percentile);
+        return bucket < 0 ? -1 : (bucket + 1) * SCORE_TIME_BUCKET_SECONDS;
+    }
+
+    public int getWrongAnswerPercentile(double percentile) {
+        return percentileBucket(getWrongAnswerBuckets(), percentile);
+    }
+
+    // Share of recorded games that rank strictly behind the given score (more wrong answers, or the same
+    // number of wrong answers in a slower time bucket), in percent.
+    public double getBeatenPercent(int wrongAnswerCount, double scoreTime) {
+        int ownRow = row(wrongAnswerCount);
+        int ownColumn = column(scoreTime);
+        long games = 0;
+        long beaten = 0;
+        for (int row = 0; row < WRONG_ANSWER_ROWS; row++) {
+            for (int column = 0; column < SCORE_TIME_BUCKETS; column++) {
+                long count = counts.get(row * SCORE_TIME_BUCKETS + column);
+                games += count;
+                if (row > ownRow || (row == ownRow && column > ownColumn)) {
+                    beaten += count;
+                }
+            }
+        }
+        return games == 0 ? 0 : 100.0 * beaten / games;
+    }
+
+    private static int percentileBucket(List<Long> buckets, double percentile) {
+        long games = buckets.stream().mapToLong(Long::longValue).sum();
+        if (games == 0) {
+            return -1;
+        }
+        double threshold = games * Math.clamp(percentile, 0, 100) / 100.0;
+        long seen = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0) {
+                return i;
+            }
+        }
+        return buckets.size() - 1;
+    }
+
+    private static int row(int wrongAnswerCount) {
+        return Math.clamp(wrongAnswerCount, 0, WRONG_ANSWER_ROWS - 1);
+    }
+
+    private static int column(double scoreTime) {
+        if (!(scoreTime > 0)) {
+            return 0;
+        }
+        return (int) Math.min(SCORE_TIME_BUCKETS - 1, Math.floor(scoreTime / SCORE_TIME_BUCKET_SECONDS));
+    }
+}
@@ -0,0 +1,134 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.DailyScoreAggregate;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.ScoreHistoryModel;
+import ropold.backend.repository.DailyScoreAggregateRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ScoreHistoryService {
+
+    private static final int MAX_DAYS = 366;
+
+    private final IdService idService;
+    private final ScoreHistoryWriter scoreHistoryWriter;
+    private final DailyScoreAggregateRepository dailyScoreAggregateRepository;
+    private final MongoTemplate mongoTemplate;
+    private Clock clock = Clock.systemDefaultZone();
+
+    record CategoryTotals(
+            String id,
+            long games,
+            long perfectGames,
+            double bestScoreTime,
+            double averageScoreTime,
+            double averageWrongAnswerCount
+    ) {
+    }
+
+    public void record(HighScoreModel highScoreModel, String category) {
+        scoreHistoryWriter.append(new ScoreHistoryModel(
+                idService.generateRandomId(),
+                highScoreModel.playerName(),
+                highScoreModel.githubId(),
+                category,
+                highScoreModel.wrongAnswerCount(),
+                highScoreModel.scoreTime(),
+                highScoreModel.date(),
+                Instant.now()
+        ));
+    }
+
+    public List<DailyScoreAggregate> getDailyAggregates(String category, int days) {
+        LocalDate from = LocalDate.now(clock).minusDays(Math.clamp(days, 1, MAX_DAYS) - 1L);
+        if (category == null) {
+            return dailyScoreAggregateRepository.findAllByDayGreaterThanEqualOrderByDayAsc(from);
+        }
+        return dailyScoreAggregateRepository.findAllByCategoryEnumAndDayGreaterThanEqualOrderByDayAsc(
+                HighScoreService.categoryKey(category), from);
+    }
+
+    // Runs after midnight so yesterday's raw entries are complete; they may expire later, the aggregates stay.
+    @Scheduled(cron = "0 15 0 * * *")
+    public void rollUpYesterday() {
+        rollUp(LocalDate.now(clock).minusDays(1));
+    }
+
+    // Catches up on days whose 00:15 roll-up was missed because the app was down.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rollUpMissedDays() {
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        LocalDate from = dailyScoreAggregateRepository.findFirstByOrderByDayDesc()
+                .map(aggregate -> aggregate.day().plusDays(1))
+                .orElseGet(this::firstHistoryDay);
+        if (from == null) {
+            return;
+        }
+        LocalDate earliest = yesterday.minusDays(MAX_DAYS - 1L);
+        for (LocalDate day = from.isBefore(earliest) ? earliest : from; !day.isAfter(yesterday); day = day.plusDays(1)) {
+            rollUp(day);
+        }
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Re-running a day replaces its aggregates, so the roll-up is idempotent.
+    public List<DailyScoreAggregate> rollUp(LocalDate day) {
+        ZoneId zone = clock.getZone();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("submittedAt")
+                        .gte(day.atStartOfDay(zone).toInstant())
+                        .lt(day.plusDays(1).atStartOfDay(zone).toInstant())),
+                Aggregation.group("categoryEnum")
+                        .count().as("games")
+                        .sum(ConditionalOperators.when(Criteria.where("wrongAnswerCount").is(0)).then(1).otherwise(0))
+                        .as("perfectGames")
+                        .min("scoreTime").as("bestScoreTime")
+                        .avg("scoreTime").as("averageScoreTime")
+                        .avg("wrongAnswerCount").as("averageWrongAnswerCount")
+        );
+
+        List<DailyScoreAggregate> aggregates = mongoTemplate
+                .aggregate(aggregation, ScoreHistoryModel.class, CategoryTotals.class)
+                .getMappedResults()
+                .stream()
+                .map(totals -> new DailyScoreAggregate(
+                        day + ":" + totals.id(),
+                        day,
+                        totals.id(),
+                        totals.games(),
+                        totals.perfectGames(),
+                        totals.bestScoreTime(),
+                        totals.averageScoreTime(),
+                        totals.averageWrongAnswerCount()
+                ))
+                .toList();
+        return dailyScoreAggregateRepository.saveAll(aggregates);
+    }
+
+    private LocalDate firstHistoryDay() {
+        ScoreHistoryModel first = mongoTemplate.findOne(
+                new Query().with(Sort.by(Sort.Direction.ASC, "submittedAt")).limit(1), ScoreHistoryModel.class);
+        return first == null ? null : LocalDate.ofInstant(first.submittedAt(), clock.getZone());
+    }
+}
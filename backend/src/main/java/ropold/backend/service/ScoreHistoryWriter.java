@@ -0,0 +1,165 @@
+package ropold.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ropold.backend.model.ScoreHistoryModel;
+import ropold.backend.repository.ScoreHistoryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Append-only, batched inserts into the score history. Submitters never wait: when the queue is full
+// the entry is dropped and counted, because history must not slow down the leaderboard.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoreHistoryWriter {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+
+    private final ScoreHistoryRepository scoreHistoryRepository;
+
+    @Value("${app.history.queue-capacity:" + DEFAULT_QUEUE_CAPACITY + "}")
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    @Value("${app.history.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    @Value("${app.history.flush-interval-ms:" + DEFAULT_FLUSH_INTERVAL_MS + "}")
+    private long flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Lock insertedLock = new ReentrantLock();
+    private final Condition insertedAdvanced = insertedLock.newCondition();
+    private volatile BlockingQueue<ScoreHistoryModel> queue;
+    private Thread drainer;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    @PostConstruct
+    public synchronized void start() {
+        if (queue != null) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        drainer = new Thread(this::drainLoop, "score-history-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public void append(ScoreHistoryModel scoreHistoryModel) {
+        if (!queue.offer(scoreHistoryModel)) {
+            dropped.increment();
+            return;
+        }
+        appended.incrementAndGet();
+        if (stopped) {
+            // appended after shutdown drained the queue, nobody else will pick it up
+            drainRemaining();
+        }
+    }
+
+    // Blocks until everything appended so far has been inserted.
+    public void flush() {
+        long target = appended.get();
+        insertedLock.lock();
+        try {
+            while (inserted.get() < target && running) {
+                insertedAdvanced.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            insertedLock.unlock();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    // The drainer is not interrupted, that would abort an insert in flight and lose the batch; it stops at
+    // its next poll timeout and whatever it left behind is inserted here.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            stopped = true;
+            current = drainer;
+        }
+        if (current != null) {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+            if (current.isAlive()) {
+                log.warn("Score history writer did not finish its batch in time, draining the rest anyway");
+            }
+        }
+        drainRemaining();
+    }
+
+    private void drainLoop() {
+        List<ScoreHistoryModel> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ScoreHistoryModel first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            insert(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainRemaining() {
+        BlockingQueue<ScoreHistoryModel> current = queue;
+        if (current == null) {
+            return;
+        }
+        List<ScoreHistoryModel> batch = new ArrayList<>(batchSize);
+        while (current.drainTo(batch, batchSize) > 0) {
+            insert(batch);
+            batch.clear();
+        }
+    }
+
+    private void insert(List<ScoreHistoryModel> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            scoreHistoryRepository.insert(List.copyOf(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to append {} score history entries", batch.size(), e);
+        }
+        inserted.addAndGet(batch.size());
+        insertedLock.lock();
+        try {
+            insertedAdvanced.signalAll();
+        } finally {
+            insertedLock.unlock();
+        }
+    }
+}
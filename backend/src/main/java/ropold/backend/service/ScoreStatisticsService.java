@@ -0,0 +1,103 @@
+package ropold.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import ropold.backend.model.ScoreHistoryModel;
+import ropold.backend.model.ScoreStats;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+@RequiredArgsConstructor
+public class ScoreStatisticsService {
+
+    public static final String ALL_CATEGORIES = "ALL";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ConcurrentMap<String, ScoreHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Games submitted from here on are counted by record(); the seed only counts history from before, so a
+    // game whose history entry is already inserted when the seed runs isn't counted twice.
+    private volatile Instant liveSince = Instant.now();
+
+    public void record(String category, int wrongAnswerCount, double scoreTime) {
+        ensureLoaded();
+        histogram(category).record(wrongAnswerCount, scoreTime);
+        histogram(ALL_CATEGORIES).record(wrongAnswerCount, scoreTime);
+    }
+
+    // category == null means all categories; wrongAnswerCount/scoreTime are optional and only used
+    // for the "you beat x%" figure.
+    public ScoreStats getStats(String category, Integer wrongAnswerCount, Double scoreTime) {
+        ensureLoaded();
+        String key = category == null ? ALL_CATEGORIES : HighScoreService.categoryKey(category);
+        ScoreHistogram histogram = histogram(key);
+        Double beatenPercent = wrongAnswerCount != null && scoreTime != null
+                ? histogram.getBeatenPercent(wrongAnswerCount, scoreTime)
+                : null;
+        return new ScoreStats(
+                key,
+                histogram.getGames(),
+                histogram.getScoreTimePercentile(50),
+                histogram.getScoreTimePercentile(90),
+                histogram.getWrongAnswerPercentile(50),
+                histogram.getWrongAnswerPercentile(90),
+                beatenPercent,
+                ScoreHistogram.SCORE_TIME_BUCKET_SECONDS,
+                histogram.getScoreTimeBuckets(),
+                histogram.getWrongAnswerBuckets()
+        );
+    }
+
+    // Drops the histograms so the next access seeds them again from the history.
+    public void invalidate() {
+        synchronized (this) {
+            histograms.clear();
+            liveSince = Instant.now();
+            loaded = false;
+        }
+    }
+
+    private ScoreHistogram histogram(String category) {
+        return histograms.computeIfAbsent(category, c -> new ScoreHistogram());
+    }
+
+    // One server-side bucketing pass over the history per process; the result has at most one row per
+    // bucket, so the collection itself is never streamed to the application.
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("submittedAt").not().gte(liveSince)),
+                    Aggregation.project("categoryEnum", "wrongAnswerCount")
+                            .and(ArithmeticOperators.Floor.floorValueOf("scoreTime")).as("second"),
+                    Aggregation.group("categoryEnum", "wrongAnswerCount", "second").count().as("games")
+            );
+            for (Document bucket : mongoTemplate.aggregate(aggregation, ScoreHistoryModel.class, Document.class)) {
+                Document id = bucket.get("_id", Document.class);
+                String category = id.getString("categoryEnum");
+                int wrongAnswerCount = ((Number) id.get("wrongAnswerCount")).intValue();
+                double second = ((Number) id.get("second")).doubleValue();
+                long games = ((Number) bucket.get("games")).longValue();
+                if (category != null) {
+                    histogram(category).add(wrongAnswerCount, second, games);
+                }
+                histogram(ALL_CATEGORIES).add(wrongAnswerCount, second, games);
+            }
+            loaded = true;
+        }
+    }
+}
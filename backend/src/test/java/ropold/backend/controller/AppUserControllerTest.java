@@ -18,6 +18,7 @@ import ropold.backend.model.AppUser;
 import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.QuestionModel;
 import ropold.backend.repository.AppUserRepository;
+import ropold.backend.repository.QuestionFavoriteRepository;
 import ropold.backend.repository.QuestionRepository;
 
 import java.util.List;
@@ -42,10 +43,14 @@ public class AppUserControllerTest {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private QuestionFavoriteRepository questionFavoriteRepository;
+
     @BeforeEach
     void setUp() {
         appUserRepository.deleteAll();
         questionRepository.deleteAll();
+        questionFavoriteRepository.deleteAll();
 
         AppUser user = new AppUser(
                 "user",
@@ -158,6 +163,19 @@ public class AppUserControllerTest {
                 .andExpect(jsonPath("$[1].githubId").value("user"));
         }
 
+    @Test
+    void getMyQuestions_summaryWithLimit_shouldReturnAPage() throws Exception {
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/users/me/my-questions/user")
+                                .param("view", "summary")
+                                .param("limit", "1")
+                                .with(oidcLogin().idToken(i -> i.claim("sub", "user")))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
     @Test
     @WithMockUser(username = "user")
     void getUserFavorites_shouldReturnUserFavorites() throws Exception {
@@ -195,10 +213,13 @@ public class AppUserControllerTest {
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/users/favorites/1")
                         .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.favorite").value(true))
+                .andExpect(jsonPath("$.changed").value(true));
 
         AppUser updatedUser = appUserRepository.findById("user").orElseThrow();
         Assertions.assertTrue(updatedUser.favoriteQuestions().contains("1"));
+        Assertions.assertEquals(1, questionFavoriteRepository.countByQuestionId("1"));
     }
 
     @Test
@@ -209,12 +230,25 @@ public class AppUserControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/users/favorites/2")
                         .with(oidcLogin().idToken(i -> i.claim("sub", "user")))
                 )
-                .andExpect(status().isNoContent()); // .isOk = 200, .isNoContent = 204
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.favorite").value(false))
+                .andExpect(jsonPath("$.changed").value(true));
 
         AppUser updatedUser = appUserRepository.findById("user").orElseThrow();
         Assertions.assertFalse(updatedUser.favoriteQuestions().contains("2"));
     }
 
+    @Test
+    void addQuestionToFavorites_alreadyFavorite_shouldReportUnchanged() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/favorites/2")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.changed").value(false));
+
+        AppUser updatedUser = appUserRepository.findById("user").orElseThrow();
+        Assertions.assertEquals(List.of("2"), updatedUser.favoriteQuestions());
+    }
+
     @Test
     void ToggleActiveStatus_shouldToggleActiveStatus() throws Exception {
         QuestionModel memoryBefore = questionRepository.findById("1").orElseThrow();
@@ -0,0 +1,86 @@
+package ropold.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.QuestionRepository;
+import ropold.backend.service.ActiveQuestionCache;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ActiveQuestionCache activeQuestionCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        questionRepository.deleteAll();
+        questionRepository.save(new QuestionModel(
+                "1", "Land der aufgehenden Sonne", CategoryEnum.GEOGRAPHY,
+                List.of("Sushi", "Kimono", "Samurai", "Fuji"), "Japan", "Japan.", true, "user", null));
+        activeQuestionCache.invalidate();
+    }
+
+    @Test
+    void startAndFinishGame_shouldScoreOnTheServer() throws Exception {
+        String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/game/start")
+                        .contentType("application/json")
+                        .content("""
+                                {"categoryEnum": "GEOGRAPHY"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.questions.length()").value(1))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode gameStart = objectMapper.readTree(body);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game/" + gameStart.get("gameId").asText() + "/finish")
+                        .contentType("application/json")
+                        .content("""
+                                {"answers": ["japan"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wrongAnswerCount").value(0))
+                .andExpect(jsonPath("$.categoryEnum").value("GEOGRAPHY"));
+    }
+
+    @Test
+    void startGame_categoryWithoutEnoughQuestions_shouldReturnConflict() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game/start")
+                        .contentType("application/json")
+                        .content("""
+                                {"categoryEnum": "ART"}
+                                """))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void finishGame_unknownSession_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game/unknown/finish")
+                        .contentType("application/json")
+                        .content("{\"answers\": []}"))
+                .andExpect(status().isNotFound());
+    }
+}
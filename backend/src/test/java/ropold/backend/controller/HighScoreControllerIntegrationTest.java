@@ -1,5 +1,6 @@
 package ropold.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,9 +10,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.DailyScoreAggregateRepository;
 import ropold.backend.repository.HighScoreRepository;
+import ropold.backend.repository.QuestionRepository;
+import ropold.backend.repository.ScoreHistoryRepository;
+import ropold.backend.service.ActiveQuestionCache;
+import ropold.backend.service.HighScoreService;
+import ropold.backend.service.HighScoreWriter;
+import ropold.backend.service.ScoreHistoryService;
+import ropold.backend.service.ScoreHistoryWriter;
+import ropold.backend.service.ScoreStatisticsService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +37,36 @@ public class HighScoreControllerIntegrationTest {
     @Autowired
     private HighScoreRepository highScoreRepository;
 
+    @Autowired
+    private HighScoreService highScoreService;
+
+    @Autowired
+    private HighScoreWriter highScoreWriter;
+
+    @Autowired
+    private ScoreHistoryRepository scoreHistoryRepository;
+
+    @Autowired
+    private DailyScoreAggregateRepository dailyScoreAggregateRepository;
+
+    @Autowired
+    private ScoreHistoryWriter scoreHistoryWriter;
+
+    @Autowired
+    private ScoreHistoryService scoreHistoryService;
+
+    @Autowired
+    private ScoreStatisticsService scoreStatisticsService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ActiveQuestionCache activeQuestionCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -39,6 +82,32 @@ public class HighScoreControllerIntegrationTest {
                 "2", "player1", "123456", "ART", 0, 14.5, fixedDate.minusMinutes(5));
 
         highScoreRepository.saveAll(List.of(highScoreModel1, highScoreModel2));
+        highScoreService.invalidate();
+    }
+
+    // Starts a one-question ART game through /api/game, so its score can be submitted with the gameId.
+    private String startedGame() throws Exception {
+        questionRepository.deleteAll();
+        questionRepository.save(new QuestionModel(
+                "q1", "Lächeln im Louvre", CategoryEnum.ART,
+                List.of("Louvre", "Lächeln", "Leonardo", "Porträt"), "Mona Lisa", "Mona Lisa.", true, "user", null));
+        activeQuestionCache.invalidate();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.post("/api/game/start")
+                        .contentType("application/json")
+                        .content("{\"categoryEnum\": \"ART\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("gameId").asText();
+    }
+
+    private String finishedGame(String answer) throws Exception {
+        String gameId = startedGame();
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/game/" + gameId + "/finish")
+                        .contentType("application/json")
+                        .content("{\"answers\": [\"" + answer + "\"]}"))
+                .andExpect(status().isOk());
+        return gameId;
     }
 
     @Test
@@ -68,25 +137,102 @@ public class HighScoreControllerIntegrationTest {
                     ]"""));
     }
 
+    @Test
+    void getHighScores_byCategory_shouldOnlyReturnThatCategory() throws Exception {
+        highScoreRepository.save(new HighScoreModel(
+                "3", "player2", "654321", "HISTORY", 0, 9.0, LocalDateTime.of(2025, 3, 5, 12, 0, 0)));
+        highScoreService.invalidate();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").param("category", "HISTORY"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("3"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").param("category", "ART"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").param("category", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getHighScores_daily_shouldOnlyContainScoresOfToday() throws Exception {
+        highScoreRepository.save(new HighScoreModel(
+                "3", "player2", "654321", "ART", 1, 30.0, LocalDateTime.now()));
+        highScoreService.invalidate();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score")
+                        .param("category", "ART")
+                        .param("period", "DAILY"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("3"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").param("period", "YEARLY"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRank_shouldAnswerWithoutTransferringTheList() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/rank")
+                        .param("wrong", "0")
+                        .param("time", "12.0")
+                        .param("category", "ART"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json("""
+                    {"categoryEnum": "ART", "rank": 2, "qualifies": true}
+                    """));
+    }
+
+    @Test
+    void streamHighScores_shouldOpenEventStream() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/event-stream"));
+    }
+
+    @Test
+    void getHighScores_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/high-score/2"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void postHighScore_shouldReturnCreated() throws Exception {
         highScoreRepository.deleteAll();
+        highScoreService.invalidate();
+        String gameId = finishedGame("mona lisa");
 
+        // the client's time and wrong answers are ignored, the session's result counts
         String highScoreJson = """
                 {
                     "playerName": "player2",
                     "githubId": "654321",
                     "categoryEnum": "ART",
-                    "wrongAnswerCount": 1,
-                    "scoreTime": 12.3,
+                    "wrongAnswerCount": 5,
+                    "scoreTime": 0.1,
                     "date": "2025-03-05T12:00:00"
                 }
                 """;
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
+                        .param("gameId", gameId)
                         .contentType("application/json")
                         .content(highScoreJson))
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("X-High-Score-Rank", "1"));
+        highScoreWriter.flush();
 
         List<HighScoreModel> allHighScores = highScoreRepository.findAll();
         Assertions.assertEquals(1, allHighScores.size());
@@ -95,18 +241,50 @@ public class HighScoreControllerIntegrationTest {
 
         org.assertj.core.api.Assertions.assertThat(savedHighScore)
                 .usingRecursiveComparison()
-                .ignoringFields("id", "date")
+                .ignoringFields("id", "scoreTime", "date")
                 .isEqualTo(new HighScoreModel(
                         null,
                         "player2",
                         "654321",
                         "ART",
-                        1,
-                        12.3,
+                        0,
+                        0,
                         null
                 ));
     }
 
+    @Test
+    void postHighScore_withoutGame_shouldBeRejected() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
+                        .contentType("application/json")
+                        .content("""
+                                {
+                                    "playerName": "cheater",
+                                    "categoryEnum": "ART",
+                                    "wrongAnswerCount": 0,
+                                    "scoreTime": 0.1,
+                                    "date": "2025-03-05T12:00:00"
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+        highScoreWriter.flush();
+
+        Assertions.assertEquals(2, highScoreRepository.count());
+        Assertions.assertTrue(highScoreService.getHighScores("ART").stream()
+                .noneMatch(score -> "cheater".equals(score.playerName())));
+    }
+
+    @Test
+    void postHighScore_unfinishedGame_shouldReturnConflict() throws Exception {
+        String unfinishedGameId = startedGame();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
+                        .param("gameId", unfinishedGameId)
+                        .contentType("application/json")
+                        .content("{\"playerName\": \"player5\", \"date\": \"2025-03-05T12:00:00\"}"))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void postHighScore_withHighTime_shouldNotBeSaved_ifNotInTop10() throws Exception {
 
@@ -126,6 +304,10 @@ public class HighScoreControllerIntegrationTest {
                     fixedDate
             ));
         }
+        highScoreService.invalidate();
+
+        // one wrong answer ranks behind all ten perfect games, however fast it was
+        String gameId = finishedGame("wrong");
 
         String newScoreJson = """
                 {
@@ -139,10 +321,12 @@ public class HighScoreControllerIntegrationTest {
                 """;
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/high-score")
+                        .param("gameId", gameId)
                         .contentType("application/json")
                         .content(newScoreJson))
                 .andExpect(status().isCreated())
                 .andExpect(MockMvcResultMatchers.content().string(""));
+        highScoreWriter.flush();
 
         // Verifizieren: Es bleiben nur die 10 alten drin
         List<HighScoreModel> all = highScoreRepository.findAll();
@@ -153,10 +337,66 @@ public class HighScoreControllerIntegrationTest {
         Assertions.assertFalse(containsNewPlayer);
     }
 
+    @Test
+    void submitHighScore_shouldAppendHistoryAndRollUp() throws Exception {
+        scoreHistoryRepository.deleteAll();
+        dailyScoreAggregateRepository.deleteAll();
+
+        highScoreService.submitHighScore(new HighScoreModel(
+                null, "player3", "654321", "ART", 0, 8.0, LocalDateTime.of(2025, 3, 5, 12, 0, 0)));
+        scoreHistoryWriter.flush();
+
+        Assertions.assertEquals(1, scoreHistoryRepository.count());
+
+        scoreHistoryService.rollUp(LocalDate.now());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/history/daily").param("category", "ART"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].games").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].perfectGames").value(1));
+    }
+
+    @Test
+    void getStats_shouldReportDistributionAndBeatenPercent() throws Exception {
+        scoreHistoryRepository.deleteAll();
+        scoreStatisticsService.invalidate();
+
+        LocalDateTime date = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        highScoreService.submitHighScore(new HighScoreModel(null, "player4", null, "ART", 0, 12.0, date));
+        highScoreService.submitHighScore(new HighScoreModel(null, "player4", null, "ART", 2, 40.0, date));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/stats")
+                        .param("category", "ART")
+                        .param("wrong", "1")
+                        .param("time", "20.0"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.games").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.beatenPercent").value(50.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.wrongAnswerBuckets[2]").value(1));
+    }
+
+    @Test
+    void getStats_historyInsertedBeforeTheSeed_isCountedOnce() throws Exception {
+        scoreHistoryRepository.deleteAll();
+        scoreStatisticsService.invalidate();
+
+        // the history entry reaches Mongo before the histograms are seeded by the first record()
+        HighScoreModel highScoreModel = new HighScoreModel(null, "player4", null, "ART", 1, 15.0, LocalDateTime.now());
+        scoreHistoryService.record(highScoreModel, "ART");
+        scoreHistoryWriter.flush();
+        scoreStatisticsService.record("ART", 1, 15.0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/high-score/stats").param("category", "ART"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.games").value(1));
+    }
+
     @Test
     void deleteHighScore_shouldDeleteHighScore() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/high-score/1"))
                 .andExpect(status().isNoContent());
+        highScoreWriter.flush();
         Assertions.assertEquals(1, highScoreRepository.count());
         Assertions.assertTrue(highScoreRepository.existsById("2"));
     }
@@ -0,0 +1,39 @@
+package ropold.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.admin.github-ids=admin")
+@AutoConfigureMockMvc
+class MetricsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getMetrics_anonymous_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/metrics/rate-limit"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getMetrics_userWhoIsNoAdmin_shouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/metrics/rate-limit")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "user"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getMetrics_admin_shouldReturnMetrics() throws Exception {
+        mockMvc.perform(get("/api/metrics/user-cache")
+                        .with(oidcLogin().idToken(i -> i.claim("sub", "admin"))))
+                .andExpect(status().isOk());
+    }
+}
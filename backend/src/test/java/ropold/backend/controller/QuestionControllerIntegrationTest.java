@@ -10,19 +10,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ropold.backend.model.AppUser;
 import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.QuestionModel;
 import ropold.backend.repository.AppUserRepository;
 import ropold.backend.repository.QuestionRepository;
+import ropold.backend.service.ActiveQuestionCache;
+import ropold.backend.service.QuestionSearchIndex;
+import ropold.backend.service.QuestionSummaryCache;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -31,7 +37,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.hamcrest.Matchers.hasSize;
@@ -54,10 +64,22 @@ class QuestionControllerIntegrationTest {
     @Autowired
     private AppUserRepository appUserRepository;
 
+    @Autowired
+    private ActiveQuestionCache activeQuestionCache;
+
+    @Autowired
+    private QuestionSearchIndex questionSearchIndex;
+
+    @Autowired
+    private QuestionSummaryCache questionSummaryCache;
+
     @BeforeEach
     void setUp() {
         questionRepository.deleteAll();
         appUserRepository.deleteAll();
+        activeQuestionCache.invalidate();
+        questionSearchIndex.invalidate();
+        questionSummaryCache.invalidate();
 
         QuestionModel questionModel1 = new QuestionModel(
                 "1",
@@ -105,6 +127,23 @@ class QuestionControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].title", is("Zauberschüler")));
     }
 
+    @Test
+    void getAllQuestions_asNdjson_shouldStreamOneQuestionPerLine() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/word-link-hub").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.trim().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"title\":\"Pyramidenland\""));
+        Assertions.assertTrue(lines[1].contains("\"title\":\"Zauberschüler\""));
+    }
+
     @Test
     void getActiveQuestions() throws Exception {
         mockMvc.perform(get("/api/word-link-hub/active"))
@@ -113,6 +152,146 @@ class QuestionControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].title", is("Pyramidenland")));
     }
 
+    @Test
+    void getActiveQuestions_withMatchingEtag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/word-link-hub/active"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/word-link-hub/active").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllQuestions_afterWrite_shouldReturnNewEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/word-link-hub"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/word-link-hub/no-login")
+                        .contentType("application/json")
+                        .content("""
+                                {
+                                    "title": "Berühmter Apfel",
+                                    "categoryEnum": "SCIENCE",
+                                    "clueWords": ["Gravitation", "Newton", "Fall", "Baum"],
+                                    "solutionWord": "Apfel",
+                                    "answerExplanation": "Newton und der fallende Apfel.",
+                                    "isActive": true,
+                                    "githubId": "anonymous"
+                                }
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/word-link-hub").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void getRandomDeck_shouldReturnOnlyActiveQuestions() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub/deck").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Pyramidenland")));
+    }
+
+    @Test
+    void getRandomDeck_withCategory_shouldFilterByCategory() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub/deck").param("category", "SPORTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/word-link-hub/deck").param("category", "GEOGRAPHY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryEnum", is("GEOGRAPHY")));
+    }
+
+    @Test
+    void getActiveQuestions_shouldReflectToggleWithoutReload() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub/active"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        OAuth2User mockOAuth2User = mock(OAuth2User.class);
+        when(mockOAuth2User.getName()).thenReturn("user");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(mockOAuth2User, null,
+                        Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")))
+        );
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/users/2/toggle-active"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/word-link-hub/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void getQuestionPage_shouldFollowCursorUntilLastPage() throws Exception {
+        String response = mockMvc.perform(get("/api/word-link-hub").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions", hasSize(1)))
+                .andExpect(jsonPath("$.questions[0].id", is("1")))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = com.jayway.jsonpath.JsonPath.read(response, "$.nextCursor");
+
+        mockMvc.perform(get("/api/word-link-hub").param("limit", "1").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions", hasSize(1)))
+                .andExpect(jsonPath("$.questions[0].id", is("2")))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getActiveQuestionPage_shouldOnlyContainActiveQuestions() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub/active").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions", hasSize(1)))
+                .andExpect(jsonPath("$.questions[0].title", is("Pyramidenland")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void getQuestionPage_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub").param("limit", "1").param("cursor", "not*base64"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchQuestions_shouldMatchPrefixesWithoutDiacritics() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub/search").param("q", "agyp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Pyramidenland")));
+
+        mockMvc.perform(get("/api/word-link-hub/search").param("q", "hogwarts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getQuestionSummaries_shouldOnlyContainCardFields() throws Exception {
+        mockMvc.perform(get("/api/word-link-hub").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title", is("Pyramidenland")))
+                .andExpect(jsonPath("$[0].imageUrl", is("https://example.com/egypt.jpg")))
+                .andExpect(jsonPath("$[0].solutionWord").doesNotExist())
+                .andExpect(jsonPath("$[0].answerExplanation").doesNotExist());
+
+        mockMvc.perform(get("/api/word-link-hub/active").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].categoryEnum", is("GEOGRAPHY")))
+                .andExpect(jsonPath("$[0].clueWords").doesNotExist());
+    }
+
     @Test
     void getQuestionById() throws Exception {
         mockMvc.perform(get("/api/word-link-hub/1"))
@@ -402,8 +581,11 @@ class QuestionControllerIntegrationTest {
                         .content(json))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].title", is("Land der aufgehenden Sonne")))
-                .andExpect(jsonPath("$[1].solutionWord", is("Sherlock Holmes")));
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].success", is(true)))
+                .andExpect(jsonPath("$[0].id").isNotEmpty())
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].success", is(true)));
 
         List<QuestionModel> allQuestions = questionRepository.findAll();
         Assertions.assertEquals(2, allQuestions.size());
@@ -420,5 +602,24 @@ class QuestionControllerIntegrationTest {
         org.assertj.core.api.Assertions.assertThat(q2.githubId()).isEqualTo("user");
     }
 
+    @Test
+    void importQuestions_ndjson_streamsOneResultPerLine() throws Exception {
+        questionRepository.deleteAll();
+        String ndjson = """
+            {"title":"Land der aufgehenden Sonne","categoryEnum":"GEOGRAPHY","clueWords":["Sushi","Kimono","Samurai","Fuji"],"solutionWord":"Japan","answerExplanation":"Alle Hinweise deuten auf Japan.","isActive":true,"githubId":"user"}
+            {"title":"Ab","categoryEnum":"GEOGRAPHY","clueWords":["Sushi"],"solutionWord":"Japan","answerExplanation":"Japan.","isActive":true,"githubId":"user"}
+            """;
 
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/api/word-link-hub/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.strip().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        org.assertj.core.api.Assertions.assertThat(lines[0]).contains("\"index\":1", "\"success\":false");
+        org.assertj.core.api.Assertions.assertThat(lines[1]).contains("\"index\":0", "\"success\":true");
+        Assertions.assertEquals(1, questionRepository.findAll().size());
+    }
 }
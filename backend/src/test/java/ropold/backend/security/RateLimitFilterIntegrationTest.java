@@ -0,0 +1,51 @@
+package ropold.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs against the real Tomcat, because the forwarded address is resolved by its RemoteIpValve.
+// The test client connects from loopback, which is a trusted internal proxy by default.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.high-score-write.capacity=1",
+        "app.rate-limit.high-score-write.per-minute=1"
+})
+class RateLimitFilterIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // an invalid body still passes the filter, so anything but 429 means the request was let through
+    static ResponseEntity<String> postHighScore(TestRestTemplate restTemplate, String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.postForEntity("/api/high-score", new HttpEntity<>("{}", headers), String.class);
+    }
+
+    @Test
+    void clientsBehindTheProxy_getABucketPerForwardedIp() {
+        assertEquals(HttpStatus.BAD_REQUEST, postHighScore(restTemplate, "203.0.113.1").getStatusCode());
+        ResponseEntity<String> limited = postHighScore(restTemplate, "203.0.113.1");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        assertEquals("60", limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(HttpStatus.BAD_REQUEST, postHighScore(restTemplate, "203.0.113.2").getStatusCode());
+    }
+
+    @Test
+    void addressesAddedByTheClient_areIgnored() {
+        // the proxy appends the real peer, anything left of it came from the client
+        assertEquals(HttpStatus.BAD_REQUEST, postHighScore(restTemplate, "198.51.100.1, 203.0.113.9").getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS,
+                postHighScore(restTemplate, "198.51.100.2, 203.0.113.9").getStatusCode());
+    }
+}
@@ -0,0 +1,34 @@
+package ropold.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ropold.backend.security.RateLimitFilterIntegrationTest.postHighScore;
+
+// Loopback is not a trusted proxy here, so the test client is an ordinary client sending its own header.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.high-score-write.capacity=1",
+        "app.rate-limit.high-score-write.per-minute=1",
+        "server.tomcat.remoteip.internal-proxies=10\\.1\\.2\\.3"
+})
+class RateLimitFilterUntrustedPeerIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Test
+    void spoofedForwardedFor_fromUntrustedPeer_isIgnored() {
+        assertEquals(HttpStatus.BAD_REQUEST, postHighScore(restTemplate, "203.0.113.1").getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, postHighScore(restTemplate, "203.0.113.2").getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, postHighScore(restTemplate, "203.0.113.3").getStatusCode());
+
+        assertEquals(1, rateLimiter.getStats().buckets());
+    }
+}
@@ -0,0 +1,74 @@
+package ropold.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    RateLimiter rateLimiter = new RateLimiter();
+
+    @Test
+    void tryAcquire_allowsBurstThenRejectsWithRetryAfter() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4", now).allowed());
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4", now);
+
+        assertFalse(decision.allowed());
+        assertEquals(6, decision.retryAfterSeconds());
+        assertEquals(20, rateLimiter.getStats().allowed());
+        assertEquals(1, rateLimiter.getStats().rejected());
+    }
+
+    @Test
+    void tryAcquire_refillsOverTime() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4", now);
+        }
+
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4",
+                now + TimeUnit.SECONDS.toNanos(6)).allowed());
+    }
+
+    @Test
+    void tryAcquire_keepsGroupsAndClientsApart() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4", now);
+        }
+
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.HIGH_SCORE_WRITE, "ip:1.2.3.4", now).allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:5.6.7.8", now).allowed());
+        assertEquals(3, rateLimiter.getStats().buckets());
+    }
+
+    @Test
+    void evictIdleBuckets_dropsBucketsIdleLongerThanTenMinutes() {
+        long now = System.nanoTime();
+        rateLimiter.tryAcquire(RateLimiter.Group.QUESTION_WRITE, "ip:1.2.3.4", now);
+
+        for (int i = 0; i < 16; i++) {
+            rateLimiter.evictIdleBuckets(now + TimeUnit.MINUTES.toNanos(11));
+        }
+
+        assertEquals(0, rateLimiter.getStats().buckets());
+        assertEquals(1, rateLimiter.getStats().evicted());
+    }
+
+    @Test
+    void tryAcquire_gameGroup_hasItsOwnBudget() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Group.HIGH_SCORE_WRITE, "ip:1.2.3.4", now);
+        }
+
+        assertFalse(rateLimiter.tryAcquire(RateLimiter.Group.HIGH_SCORE_WRITE, "ip:1.2.3.4", now).allowed());
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Group.GAME, "ip:1.2.3.4", now).allowed());
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import ropold.backend.model.AppUser;
 import ropold.backend.repository.AppUserRepository;
+import ropold.backend.service.AppUserCache;
 
 import java.time.Instant;
 import java.util.Collections;
@@ -70,7 +71,7 @@ class SecurityConfigTest {
                 "https://github.com/avatar", "https://github.com/existingUser", Collections.emptyList());
         when(appUserRepository.findById("existingUser")).thenReturn(Optional.of(existingUser));
 
-        OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = new SecurityConfig(appUserRepository) {
+        OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService = new SecurityConfig(new AppUserCache(appUserRepository)) {
             @Override
             public OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService() {
                 return mockUserService;
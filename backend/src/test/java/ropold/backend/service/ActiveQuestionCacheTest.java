@@ -0,0 +1,90 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionCacheStats;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.QuestionRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveQuestionCacheTest {
+
+    QuestionRepository questionRepository = mock(QuestionRepository.class);
+    ActiveQuestionCache activeQuestionCache = new ActiveQuestionCache(questionRepository);
+
+    QuestionModel activeQuestion = new QuestionModel(
+            "1", "Pyramidenland", CategoryEnum.GEOGRAPHY,
+            List.of("Wüste", "Kamel", "Nil", "Pharao"), "Ägypten", "Erklärung",
+            true, "user", null);
+
+    @BeforeEach
+    void setUp() {
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(activeQuestion));
+    }
+
+    @Test
+    void getActiveQuestions_shouldRebuildOnceAndThenHit() {
+        assertEquals(List.of(activeQuestion), activeQuestionCache.getActiveQuestions());
+        assertEquals(List.of(activeQuestion), activeQuestionCache.getActiveQuestions());
+
+        QuestionCacheStats stats = activeQuestionCache.getStats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.rebuilds());
+        verify(questionRepository, times(1)).findAllByIsActiveTrue();
+    }
+
+    @Test
+    void put_shouldPatchSnapshotAndBumpVersion() {
+        long versionBefore = activeQuestionCache.getSnapshot().version();
+        QuestionModel activated = new QuestionModel(
+                "2", "Zauberschüler", CategoryEnum.FICTIONAL_CHARACTERS,
+                List.of("Hogwarts", "Zauberstab", "Narbe", "Brille"), "Harry Potter", "Erklärung",
+                true, "user", null);
+
+        activeQuestionCache.put(activated);
+
+        ActiveQuestionCache.Snapshot snapshot = activeQuestionCache.getSnapshot();
+        assertTrue(snapshot.version() > versionBefore);
+        assertEquals(List.of(activeQuestion, activated), snapshot.all());
+        assertEquals(List.of(activated), snapshot.get(CategoryEnum.FICTIONAL_CHARACTERS));
+        verify(questionRepository, times(1)).findAllByIsActiveTrue();
+    }
+
+    @Test
+    void put_withInactiveQuestion_shouldRemoveItFromSnapshot() {
+        activeQuestionCache.getSnapshot();
+        QuestionModel deactivated = new QuestionModel(
+                "1", "Pyramidenland", CategoryEnum.GEOGRAPHY,
+                List.of("Wüste", "Kamel", "Nil", "Pharao"), "Ägypten", "Erklärung",
+                false, "user", null);
+
+        activeQuestionCache.put(deactivated);
+
+        assertTrue(activeQuestionCache.getActiveQuestions().isEmpty());
+        assertTrue(activeQuestionCache.getSnapshot().get(CategoryEnum.GEOGRAPHY).isEmpty());
+    }
+
+    @Test
+    void remove_shouldDropQuestionFromSnapshot() {
+        activeQuestionCache.getSnapshot();
+
+        activeQuestionCache.remove("1");
+
+        assertTrue(activeQuestionCache.getActiveQuestions().isEmpty());
+    }
+
+    @Test
+    void randomQuestions_shouldNeverReturnMoreThanRequested() {
+        activeQuestionCache.put(activeQuestion);
+        List<QuestionModel> deck = activeQuestionCache.randomQuestions(null, 1);
+
+        assertEquals(1, deck.size());
+        assertEquals(0, activeQuestionCache.randomQuestions(CategoryEnum.SPORTS, 10).size());
+    }
+}
@@ -0,0 +1,70 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.AppUser;
+import ropold.backend.repository.AppUserRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AppUserCacheTest {
+
+    AppUserRepository appUserRepository = mock(AppUserRepository.class);
+    AppUserCache appUserCache = new AppUserCache(appUserRepository);
+
+    private static AppUser user(String id) {
+        return new AppUser(id, "username", "name", "avatarUrl", "githubUrl", List.of());
+    }
+
+    @Test
+    void findById_secondLookup_isServedFromCache() {
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user("user")));
+        long now = System.nanoTime();
+
+        appUserCache.findById("user", now);
+        Optional<AppUser> result = appUserCache.findById("user", now);
+
+        assertEquals(Optional.of(user("user")), result);
+        verify(appUserRepository, times(1)).findById("user");
+        assertEquals(1, appUserCache.getStats().hits());
+        assertEquals(1, appUserCache.getStats().misses());
+        assertEquals(0.5, appUserCache.getStats().hitRate());
+    }
+
+    @Test
+    void findById_afterTtl_reloadsFromRepository() {
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user("user")));
+        long now = System.nanoTime();
+
+        appUserCache.findById("user", now);
+        appUserCache.findById("user", now + TimeUnit.MINUTES.toNanos(6));
+
+        verify(appUserRepository, times(2)).findById("user");
+        assertEquals(1, appUserCache.getStats().evictions());
+    }
+
+    @Test
+    void findById_unknownUser_isNotCached() {
+        when(appUserRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        appUserCache.findById("ghost");
+        appUserCache.findById("ghost");
+
+        verify(appUserRepository, times(2)).findById("ghost");
+        assertEquals(0, appUserCache.getStats().size());
+    }
+
+    @Test
+    void save_writesThroughAndCachesTheSavedUser() {
+        when(appUserRepository.save(user("user"))).thenReturn(user("user"));
+
+        appUserCache.save(user("user"));
+
+        assertEquals(Optional.of(user("user")), appUserCache.findById("user"));
+        verify(appUserRepository, never()).findById("user");
+    }
+}
@@ -1,11 +1,15 @@
 package ropold.backend.service;
 
+import com.mongodb.client.result.UpdateResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import ropold.backend.model.AppUser;
+import ropold.backend.model.FavoriteChange;
 import ropold.backend.repository.AppUserRepository;
 
 import java.util.List;
@@ -19,12 +23,21 @@ class AppUserServiceTest {
     @Mock
     private AppUserRepository appUserRepository;
 
-    @InjectMocks
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private QuestionPopularityTracker questionPopularityTracker;
+
+    @Mock
+    private QuestionFavoriteIndex questionFavoriteIndex;
+
     private AppUserService appUserService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        appUserService = new AppUserService(new AppUserCache(appUserRepository), mongoTemplate, questionPopularityTracker, questionFavoriteIndex);
     }
 
     @Test
@@ -63,4 +76,76 @@ class AppUserServiceTest {
         verify(appUserRepository, times(1)).findById(userId);
     }
 
+    @Test
+    void addQuestionToFavoriteQuestions_NewFavorite_ReportsChangeWithoutReadingUser() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AppUser.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        FavoriteChange result = appUserService.addQuestionToFavoriteQuestions("user", "1");
+
+        assertEquals(new FavoriteChange("1", true, true), result);
+        verify(questionPopularityTracker).favoriteAdded("1");
+        verify(questionFavoriteIndex).add("user", "1");
+        verify(appUserRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void removeQuestionFromFavoriteQuestions_NotAFavorite_ReportsNoChange() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AppUser.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        FavoriteChange result = appUserService.removeQuestionFromFavoriteQuestions("user", "1");
+
+        assertEquals(new FavoriteChange("1", false, false), result);
+        verify(questionPopularityTracker, never()).favoriteRemoved(anyString());
+        verify(questionFavoriteIndex, never()).remove(anyString(), any());
+    }
+
+    @Test
+    void addQuestionToFavoriteQuestions_UserDoesNotExist_ThrowsException() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AppUser.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> appUserService.addQuestionToFavoriteQuestions("user", "1"));
+        assertEquals("User not found", exception.getMessage());
+    }
+
+    @Test
+    void getUserFavorites_CalledTwice_ReadsRepositoryOnce() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of("1"));
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user));
+
+        appUserService.getUserFavoriteQuestions("user");
+        appUserService.getUserFavoriteQuestions("user");
+
+        verify(appUserRepository, times(1)).findById("user");
+    }
+
+    @Test
+    void addQuestionToFavoriteQuestions_InvalidatesCachedUser() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of());
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AppUser.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        appUserService.getUserFavoriteQuestions("user");
+        appUserService.addQuestionToFavoriteQuestions("user", "1");
+        appUserService.getUserFavoriteQuestions("user");
+
+        verify(appUserRepository, times(2)).findById("user");
+    }
+
+    @Test
+    void addQuestionToFavoriteQuestions_IndexWriteFails_StillReportsTheChange() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AppUser.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        doThrow(new RuntimeException("down")).when(questionFavoriteIndex).add("user", "1");
+
+        FavoriteChange result = appUserService.addQuestionToFavoriteQuestions("user", "1");
+
+        assertEquals(new FavoriteChange("1", true, true), result);
+        verify(questionPopularityTracker).favoriteAdded("1");
+        verify(questionFavoriteIndex).repairLater("user", List.of("1"));
+    }
 }
@@ -0,0 +1,60 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.repository.QuestionRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FavoriteQuestionResolverTest {
+
+    AppUserService appUserService = mock(AppUserService.class);
+    QuestionRepository questionRepository = mock(QuestionRepository.class);
+    ActiveQuestionCache activeQuestionCache = new ActiveQuestionCache(questionRepository);
+    FavoriteQuestionResolver favoriteQuestionResolver =
+            new FavoriteQuestionResolver(appUserService, activeQuestionCache, questionRepository, Runnable::run);
+
+    private static QuestionModel question(String id, boolean isActive) {
+        return new QuestionModel(id, "Titel " + id, CategoryEnum.GEOGRAPHY, List.of("a", "b", "c", "d"),
+                "Lösung", "Erklärung", isActive, "user", null);
+    }
+
+    @Test
+    void getFavoriteQuestions_keepsTheUsersOrderAndFetchesOnlyMisses() {
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(question("1", true), question("3", true)));
+        when(questionRepository.findAllById(List.of("2"))).thenReturn(List.of(question("2", false)));
+        when(appUserService.getUserFavoriteQuestions("user")).thenReturn(List.of("3", "2", "1"));
+
+        List<QuestionModel> result = favoriteQuestionResolver.getFavoriteQuestions("user");
+
+        assertEquals(List.of("3", "2", "1"), result.stream().map(QuestionModel::id).toList());
+        verify(questionRepository).findAllById(List.of("2"));
+        verify(appUserService, never()).removeQuestionsFromFavoriteQuestions(any(), any());
+    }
+
+    @Test
+    void getFavoriteQuestions_deletedQuestion_isSkippedAndPruned() {
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(question("1", true)));
+        when(questionRepository.findAllById(List.of("gone"))).thenReturn(List.of());
+        when(appUserService.getUserFavoriteQuestions("user")).thenReturn(List.of("gone", "1"));
+
+        List<QuestionModel> result = favoriteQuestionResolver.getFavoriteQuestions("user");
+
+        assertEquals(List.of(question("1", true)), result);
+        verify(appUserService).removeQuestionsFromFavoriteQuestions("user", List.of("gone"));
+    }
+
+    @Test
+    void getFavoriteQuestions_allCached_doesNotQueryRepository() {
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(question("1", true)));
+        when(appUserService.getUserFavoriteQuestions("user")).thenReturn(List.of("1"));
+
+        favoriteQuestionResolver.getFavoriteQuestions("user");
+
+        verify(questionRepository, never()).findAllById(any());
+    }
+}
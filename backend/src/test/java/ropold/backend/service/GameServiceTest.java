@@ -0,0 +1,147 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ropold.backend.exception.GameNotFinishedException;
+import ropold.backend.exception.GameSessionNotFoundException;
+import ropold.backend.exception.InvalidCategoryException;
+import ropold.backend.exception.NotEnoughQuestionsException;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.GameFinishRequest;
+import ropold.backend.model.GameResult;
+import ropold.backend.model.GameStart;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreRank;
+import ropold.backend.model.HighScoreSubmission;
+import ropold.backend.model.QuestionModel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameServiceTest {
+
+    QuestionService questionService = mock(QuestionService.class);
+    HighScoreService highScoreService = mock(HighScoreService.class);
+    IdService idService = mock(IdService.class);
+    GameSessionStore gameSessionStore = new GameSessionStore();
+    QuestionPopularityTracker questionPopularityTracker = mock(QuestionPopularityTracker.class);
+    GameService gameService = new GameService(questionService, highScoreService, idService, gameSessionStore, questionPopularityTracker);
+
+    List<QuestionModel> deck = List.of(
+            new QuestionModel("1", "Pyramidenland", CategoryEnum.GEOGRAPHY,
+                    List.of("Wüste", "Kamel", "Nil", "Pharao"), "Ägypten", "Ägypten.", true, "user", null),
+            new QuestionModel("2", "Land der aufgehenden Sonne", CategoryEnum.GEOGRAPHY,
+                    List.of("Sushi", "Kimono", "Samurai", "Fuji"), "Japan", "Japan.", true, "user", null)
+    );
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(gameService, "deckSize", 2);
+    }
+
+    private GameStart start() {
+        when(idService.generateRandomId()).thenReturn("game-1");
+        when(questionService.getRandomDeck(CategoryEnum.GEOGRAPHY, 2)).thenReturn(deck);
+        return gameService.startGame("GEOGRAPHY");
+    }
+
+    @Test
+    void startGame_storesSessionAndReturnsDeck() {
+        GameStart gameStart = start();
+
+        assertEquals(new GameStart("game-1", "GEOGRAPHY", deck), gameStart);
+        assertEquals(1, gameSessionStore.getStats().active());
+        verify(questionPopularityTracker, never()).played(any());
+    }
+
+    @Test
+    void startGame_deckShorterThanAGame_throwsWithoutOpeningASession() {
+        when(questionService.getRandomDeck(CategoryEnum.GEOGRAPHY, 2)).thenReturn(deck.subList(0, 1));
+
+        assertThrows(NotEnoughQuestionsException.class, () -> gameService.startGame("GEOGRAPHY"));
+        assertEquals(0, gameSessionStore.getStats().active());
+    }
+
+    @Test
+    void startGame_unknownCategory_throws() {
+        assertThrows(InvalidCategoryException.class, () -> gameService.startGame("NOPE"));
+    }
+
+    @Test
+    void finishGame_countsWrongAnswersServerSide() {
+        start();
+        when(highScoreService.getRank(eq(1), anyDouble(), eq("GEOGRAPHY"))).thenReturn(new HighScoreRank("GEOGRAPHY", 4, true));
+
+        // a typo within two edits still counts, a missing answer does not
+        GameResult result = gameService.finishGame("game-1", new GameFinishRequest(List.of(" ägypen "), null, null));
+
+        assertEquals(1, result.wrongAnswerCount());
+        assertTrue(result.scoreTime() >= 0);
+        assertEquals(4, result.rank());
+        assertTrue(result.qualifies());
+        verify(highScoreService, never()).submitHighScore(any());
+        verify(questionPopularityTracker).played("1");
+        verify(questionPopularityTracker).played("2");
+        verify(questionPopularityTracker).answered("1", true);
+        verify(questionPopularityTracker).answered("2", false);
+    }
+
+    @Test
+    void finishGame_secondCallWithName_submitsTheFirstResult() {
+        start();
+        when(highScoreService.getRank(anyInt(), anyDouble(), any())).thenReturn(new HighScoreRank("GEOGRAPHY", 1, true));
+        when(highScoreService.submitHighScore(any())).thenAnswer(invocation -> {
+            HighScoreModel highScoreModel = invocation.getArgument(0);
+            return new HighScoreSubmission(new HighScoreModel("hs-1", highScoreModel.playerName(), null,
+                    highScoreModel.categoryEnum(), highScoreModel.wrongAnswerCount(), highScoreModel.scoreTime(),
+                    highScoreModel.date()), 1);
+        });
+
+        GameResult first = gameService.finishGame("game-1", new GameFinishRequest(List.of("Ägypten", "Japan"), null, null));
+        GameResult second = gameService.finishGame("game-1", new GameFinishRequest(List.of(), "player1", null));
+
+        assertEquals(0, second.wrongAnswerCount());
+        assertEquals(first.scoreTime(), second.scoreTime());
+        assertEquals("hs-1", second.highScoreId());
+        verify(highScoreService).submitHighScore(argThat(highScoreModel ->
+                highScoreModel.wrongAnswerCount() == 0 && highScoreModel.categoryEnum().equals("GEOGRAPHY")));
+    }
+
+    @Test
+    void finishGame_unknownSession_throws() {
+        GameFinishRequest request = new GameFinishRequest(List.of(), null, null);
+        assertThrows(GameSessionNotFoundException.class, () -> gameService.finishGame("missing", request));
+    }
+
+    @Test
+    void submitHighScore_unfinishedGame_throws() {
+        start();
+
+        assertThrows(GameNotFinishedException.class, () -> gameService.submitHighScore("game-1", "player1", null));
+        verify(highScoreService, never()).submitHighScore(any());
+    }
+
+    @Test
+    void submitHighScore_finishedGame_usesTheServerResult() {
+        start();
+        when(highScoreService.getRank(anyInt(), anyDouble(), any())).thenReturn(new HighScoreRank("GEOGRAPHY", 1, true));
+        when(highScoreService.submitHighScore(any())).thenAnswer(invocation ->
+                new HighScoreSubmission(invocation.getArgument(0), 1));
+        gameService.finishGame("game-1", new GameFinishRequest(List.of("Ägypten"), null, null));
+
+        HighScoreSubmission submission = gameService.submitHighScore("game-1", "player1", "123");
+        gameService.submitHighScore("game-1", "player1", "123");
+
+        assertEquals(1, submission.highScoreModel().wrongAnswerCount());
+        assertEquals("player1", submission.highScoreModel().playerName());
+        verify(highScoreService, times(1)).submitHighScore(any());
+    }
+}
@@ -0,0 +1,51 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionStoreTest {
+
+    GameSessionStore gameSessionStore = new GameSessionStore();
+
+    private static GameSession session(String id, long startedAt, long expiresAt) {
+        return new GameSession(id, "ART", new String[]{"q1"}, new String[]{"japan"}, startedAt, expiresAt);
+    }
+
+    @Test
+    void tick_removesOnlyDueSessions() {
+        long now = System.nanoTime();
+        gameSessionStore.put(session("short", now, now + TimeUnit.SECONDS.toNanos(5)));
+        gameSessionStore.put(session("long", now, now + TimeUnit.MINUTES.toNanos(30)));
+
+        gameSessionStore.tick(now + TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(1, gameSessionStore.getStats().active());
+        assertEquals(1, gameSessionStore.getStats().expired());
+        assertNotNull(gameSessionStore.get("long", now + TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void tick_sessionBeyondOneWheelTurn_isRescheduledInsteadOfExpired() {
+        long now = System.nanoTime();
+        long horizon = GameSessionStore.TICK_NANOS * GameSessionStore.WHEEL_SLOTS;
+        gameSessionStore.put(session("far", now, now + horizon + TimeUnit.MINUTES.toNanos(5)));
+
+        gameSessionStore.tick(now + horizon);
+        assertEquals(1, gameSessionStore.getStats().active());
+
+        gameSessionStore.tick(now + horizon + TimeUnit.MINUTES.toNanos(6));
+        assertEquals(0, gameSessionStore.getStats().active());
+    }
+
+    @Test
+    void get_expiredSession_returnsNullBeforeTheWheelGetsThere() {
+        long now = System.nanoTime();
+        gameSessionStore.put(session("s1", now, now + TimeUnit.SECONDS.toNanos(5)));
+
+        assertNull(gameSessionStore.get("s1", now + TimeUnit.SECONDS.toNanos(6)));
+        assertEquals(1, gameSessionStore.getStats().expired());
+    }
+}
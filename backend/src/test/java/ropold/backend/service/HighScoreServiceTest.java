@@ -2,12 +2,27 @@ package ropold.backend.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import ropold.backend.exception.InvalidCategoryException;
 import ropold.backend.model.CategoryEnum;
 import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreRank;
+import ropold.backend.model.LeaderboardEvent;
+import ropold.backend.model.LeaderboardPeriod;
 import ropold.backend.repository.HighScoreRepository;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -19,7 +34,11 @@ class HighScoreServiceTest {
 
     IdService idService = mock(IdService.class);
     HighScoreRepository highScoreRepository = mock(HighScoreRepository.class);
-    HighScoreService highScoreService = new HighScoreService(highScoreRepository, idService);
+    HighScoreWriter highScoreWriter = new HighScoreWriter(highScoreRepository);
+    LeaderboardBroadcaster leaderboardBroadcaster = mock(LeaderboardBroadcaster.class);
+    ScoreHistoryService scoreHistoryService = mock(ScoreHistoryService.class);
+    ScoreStatisticsService scoreStatisticsService = mock(ScoreStatisticsService.class);
+    HighScoreService highScoreService = new HighScoreService(highScoreRepository, idService, highScoreWriter, leaderboardBroadcaster, scoreHistoryService, scoreStatisticsService);
 
     HighScoreModel highScoreModel1 = new HighScoreModel(
             "1",
@@ -44,6 +63,7 @@ class HighScoreServiceTest {
 
     @BeforeEach
     void setup() {
+        highScoreWriter.start();
         highScoreRepository.deleteAll();
         highScoreRepository.saveAll(highScores);
     }
@@ -51,17 +71,168 @@ class HighScoreServiceTest {
     @Test
     void getHighScores_shouldReturnHighScores() {
         // Given
-        when(highScoreRepository.findAllByOrderByWrongAnswerCountAscScoreTimeAsc()).thenReturn(List.of(highScoreModel1, highScoreModel2));
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(List.of(highScoreModel1, highScoreModel2));
 
         List<HighScoreModel> expected = highScoreService.getAllHighScores();
 
         assertEquals(expected, List.of(highScoreModel1, highScoreModel2));
     }
 
+    @Test
+    void getHighScores_byCategory_shouldOnlyReturnThatCategory() {
+        HighScoreModel historyScore = new HighScoreModel(
+                "3", "player2", "654321", "HISTORY", 0, 9.0, LocalDateTime.of(2025, 3, 5, 12, 0, 0));
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(highScores);
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("HISTORY")).thenReturn(List.of(historyScore));
+
+        assertEquals(highScores, highScoreService.getHighScores("ART"));
+        assertEquals(List.of(historyScore), highScoreService.getHighScores("HISTORY"));
+        assertEquals(List.of(historyScore, highScoreModel1, highScoreModel2), highScoreService.getAllHighScores());
+    }
+
+    @Test
+    void getAllHighScores_withoutCategory_returnsAtMostTheGlobalTopTen() {
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        List<HighScoreModel> artScores = new ArrayList<>();
+        List<HighScoreModel> historyScores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            artScores.add(new HighScoreModel("a" + i, "player1", "123456", "ART", 0, 10.0 + i, fixedDate));
+            historyScores.add(new HighScoreModel("h" + i, "player2", "654321", "HISTORY", 0, 10.5 + i, fixedDate));
+        }
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(artScores);
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("HISTORY")).thenReturn(historyScores);
+
+        List<HighScoreModel> top = highScoreService.getAllHighScores();
+
+        assertEquals(10, top.size());
+        assertEquals("a0", top.getFirst().id());
+        assertEquals("h4", top.getLast().id());
+    }
+
+    @Test
+    void getHighScores_legacyRowsWithoutCategory_areOnTheRandomBoard() {
+        HighScoreModel legacy = new HighScoreModel(
+                "old", "player3", "111111", null, 1, 30.0, LocalDateTime.of(2024, 1, 1, 12, 0, 0));
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc(null)).thenReturn(List.of(legacy));
+
+        List<HighScoreModel> random = highScoreService.getHighScores("RANDOM");
+        highScoreWriter.flush();
+
+        assertEquals(1, random.size());
+        assertEquals("old", random.getFirst().id());
+        assertEquals("RANDOM", random.getFirst().categoryEnum());
+        assertEquals(random, highScoreService.getAllHighScores());
+        verify(highScoreRepository).saveAll(List.of(random.getFirst()));
+    }
+
+    @Test
+    void getHighScores_withUnknownCategory_shouldThrow() {
+        assertThrows(InvalidCategoryException.class, () -> highScoreService.getHighScores("UNKNOWN"));
+    }
+
+    @Test
+    void addHighScore_fullBoardInOtherCategory_shouldNotEvictAnything() {
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+        List<HighScoreModel> artScores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            artScores.add(new HighScoreModel(String.valueOf(i + 1), "player1", "123456", "ART", 0, 5.0 + i, fixedDate));
+        }
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(artScores);
+        when(idService.generateRandomId()).thenReturn("11");
+
+        HighScoreModel result = highScoreService.addHighScore(
+                new HighScoreModel(null, "player2", "654321", "RANDOM", 3, 60.0, fixedDate));
+        highScoreWriter.flush();
+
+        assertNotNull(result);
+        assertEquals(List.of(result), highScoreService.getHighScores("RANDOM"));
+        assertEquals(10, highScoreService.getHighScores("ART").size());
+        verify(highScoreRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    void getRank_shouldReturnProspectivePlace() {
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(highScores);
+
+        assertEquals(new HighScoreRank("ART", 2, true), highScoreService.getRank(0, 12.0, "ART"));
+        assertEquals(new HighScoreRank("RANDOM", 1, true), highScoreService.getRank(5, 99.0, null));
+    }
+
+    private void setToday(LocalDate day) {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        highScoreService.setClock(Clock.fixed(day.atTime(12, 0).atZone(zone).toInstant(), zone));
+    }
+
+    @Test
+    void addHighScore_slowScoreOfToday_entersDailyAndWeeklyUntilTheyRollOver() {
+        List<HighScoreModel> artScores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            artScores.add(new HighScoreModel(String.valueOf(i + 1), "player1", "123456", "ART", 0, 5.0 + i,
+                    LocalDateTime.of(2025, 3, 5, 12, 0, 0)));
+        }
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(artScores);
+        when(idService.generateRandomId()).thenReturn("11");
+        setToday(LocalDate.of(2026, 10, 14));
+
+        HighScoreModel result = highScoreService.addHighScore(new HighScoreModel(
+                null, "player2", "654321", "ART", 2, 40.0, LocalDateTime.of(2026, 10, 14, 9, 30, 0)));
+
+        assertNotNull(result);
+        assertEquals(List.of(result), highScoreService.getHighScores("ART", LeaderboardPeriod.DAILY));
+        assertEquals(List.of(result), highScoreService.getHighScores("ART", LeaderboardPeriod.WEEKLY));
+        assertFalse(highScoreService.getHighScores("ART").contains(result));
+
+        setToday(LocalDate.of(2026, 10, 15));
+        assertTrue(highScoreService.getHighScores("ART", LeaderboardPeriod.DAILY).isEmpty());
+        assertEquals(List.of(result), highScoreService.getHighScores("ART", LeaderboardPeriod.WEEKLY));
+        highScoreWriter.flush();
+        verify(highScoreRepository, never()).deleteAllById(any());
+
+        setToday(LocalDate.of(2026, 10, 19));
+        assertTrue(highScoreService.getHighScores("ART", LeaderboardPeriod.WEEKLY).isEmpty());
+        highScoreWriter.flush();
+        verify(highScoreRepository).deleteAllById(List.of("11"));
+    }
+
+    @Test
+    void addHighScore_clientDate_isIgnoredForTheDailyBoard() {
+        when(idService.generateRandomId()).thenReturn("11");
+        setToday(LocalDate.of(2026, 10, 14));
+
+        HighScoreModel result = highScoreService.addHighScore(new HighScoreModel(
+                null, "player2", "654321", "ART", 2, 40.0, LocalDateTime.of(2020, 1, 1, 9, 30, 0)));
+
+        assertEquals(LocalDate.of(2026, 10, 14), result.date().toLocalDate());
+        assertEquals(List.of(result), highScoreService.getHighScores("ART", LeaderboardPeriod.DAILY));
+    }
+
+    @Test
+    void getHighScoresEtag_afterMidnight_changesBeforeTheBoardIsRead() {
+        when(idService.generateRandomId()).thenReturn("11");
+        setToday(LocalDate.of(2026, 10, 14));
+        highScoreService.addHighScore(new HighScoreModel(
+                null, "player2", "654321", "ART", 2, 40.0, LocalDateTime.of(2026, 10, 14, 9, 30, 0)));
+        String etagBefore = highScoreService.getHighScoresEtag();
+
+        setToday(LocalDate.of(2026, 10, 15));
+
+        assertNotEquals(etagBefore, highScoreService.getHighScoresEtag());
+    }
+
     @Test
     void deleteHighScore_shouldDeleteHighScore() {
         highScoreService.deleteHighScore("1");
-        verify(highScoreRepository, times(1)).deleteById("1");
+        highScoreWriter.flush();
+        verify(highScoreRepository, times(1)).deleteAllById(List.of("1"));
+    }
+
+    @Test
+    void deleteHighScore_shouldChangeEtag() {
+        String etagBefore = highScoreService.getHighScoresEtag();
+
+        highScoreService.deleteHighScore("1");
+
+        assertNotEquals(etagBefore, highScoreService.getHighScoresEtag());
     }
 
 
@@ -69,7 +240,7 @@ class HighScoreServiceTest {
     void addHighScore_whenOnlyTwoHighScoresAreInRepo() {
 
         when(idService.generateRandomId()).thenReturn("3");
-        when(highScoreRepository.findAllByOrderByWrongAnswerCountAscScoreTimeAsc()).thenReturn(highScores);
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(highScores);
 
         HighScoreModel newHighScore = new HighScoreModel(
                 "3",
@@ -81,11 +252,11 @@ class HighScoreServiceTest {
                 LocalDateTime.of(2025, 3, 5, 12, 5, 0)
         );
 
-        when(highScoreRepository.save(any(HighScoreModel.class))).thenReturn(newHighScore);
-
         HighScoreModel result = highScoreService.addHighScore(newHighScore);
+        highScoreWriter.flush();
 
         assertNotNull(result);
+        verify(highScoreRepository).saveAll(List.of(result));
         assertEquals("3", result.id());
         assertEquals("player3", result.playerName());
         assertEquals(9.5, result.scoreTime(), 0.1);
@@ -108,7 +279,11 @@ class HighScoreServiceTest {
                 new HighScoreModel("10", "player1", "123456","ART",0,12.5, fixedDate)
         );
 
-        when(highScoreRepository.findAllByOrderByWrongAnswerCountAscScoreTimeAsc()).thenReturn(existingScores);
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(existingScores);
+        // today's boards are just as full, so the score has no place anywhere
+        when(highScoreRepository.findAllByCategoryEnumAndDateGreaterThanEqualOrderByWrongAnswerCountAscScoreTimeAsc(eq("ART"), any()))
+                .thenReturn(existingScores);
+        setToday(fixedDate.toLocalDate());
 
         HighScoreModel newHighScore = new HighScoreModel(
                 null,
@@ -124,10 +299,14 @@ class HighScoreServiceTest {
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         HighScoreModel result = highScoreService.addHighScore(newHighScore);
+        highScoreWriter.flush();
 
         assertNull(result);
-        verify(highScoreRepository, never()).save(any());
-        verify(highScoreRepository, never()).deleteById(any());
+        verify(highScoreRepository, never()).saveAll(any());
+        // rejected games still end up in the history
+        verify(scoreHistoryService).record(newHighScore, "ART");
+        verify(scoreStatisticsService).record("ART", 0, 13.2);
+        verify(highScoreRepository, never()).deleteAllById(any());
     }
 
     @Test
@@ -147,7 +326,7 @@ class HighScoreServiceTest {
                 new HighScoreModel("10", "player1", "123456","ART",1,12.5, fixedDate)
         );
 
-        when(highScoreRepository.findAllByOrderByWrongAnswerCountAscScoreTimeAsc()).thenReturn(existingScores);
+        when(highScoreRepository.findAllByCategoryEnumOrderByWrongAnswerCountAscScoreTimeAsc("ART")).thenReturn(existingScores);
 
         HighScoreModel newHighScore = new HighScoreModel(
                 null,
@@ -163,9 +342,49 @@ class HighScoreServiceTest {
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         HighScoreModel result = highScoreService.addHighScore(newHighScore);
+        highScoreWriter.flush();
 
         assertNotNull(result);
-        verify(highScoreRepository).save(any());
-        verify(highScoreRepository, never()).deleteById(any());
+        verify(highScoreRepository).saveAll(any());
+        verify(leaderboardBroadcaster).publish(argThat(event -> event.period() == LeaderboardPeriod.ALL_TIME
+                && event.type().equals(LeaderboardEvent.ADDED) && event.id().equals(result.id()) && event.rank() == 1));
+        verify(leaderboardBroadcaster).publish(argThat(event -> event.period() == LeaderboardPeriod.ALL_TIME
+                && event.type().equals(LeaderboardEvent.REMOVED) && event.id().equals("3")));
+        // the only entry with two wrong answers is the real last place and gets evicted
+        verify(highScoreRepository).deleteAllById(List.of("3"));
+        assertEquals(10, highScoreService.getAllHighScores().size());
+        assertEquals(result, highScoreService.getAllHighScores().getFirst());
+    }
+
+    @Test
+    void addHighScore_concurrentSubmissions_keepExactlyTenEntries() throws InterruptedException {
+        AtomicInteger ids = new AtomicInteger();
+        when(idService.generateRandomId()).thenAnswer(invocation -> String.valueOf(ids.incrementAndGet()));
+        LocalDateTime fixedDate = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                double scoreTime = 10.0 + (i * 7919 % 200) / 10.0;
+                executor.execute(() -> highScoreService.addHighScore(
+                        new HighScoreModel(null, "player", "123456", "ART", 0, scoreTime, fixedDate)));
+            }
+        }
+        highScoreWriter.flush();
+
+        List<HighScoreModel> top = highScoreService.getAllHighScores();
+        assertEquals(10, top.size());
+        assertEquals(10.0, top.getFirst().scoreTime(), 0.001);
+        assertEquals(10.9, top.getLast().scoreTime(), 0.001);
+        Set<String> persisted = new HashSet<>();
+        for (Invocation invocation : mockingDetails(highScoreRepository).getInvocations()) {
+            if (invocation.getMethod().getName().equals("saveAll")) {
+                List<HighScoreModel> saved = invocation.getArgument(0);
+                saved.forEach(highScoreModel -> persisted.add(highScoreModel.id()));
+            } else if (invocation.getMethod().getName().equals("deleteAllById")) {
+                List<String> deleted = invocation.getArgument(0);
+                deleted.forEach(persisted::remove);
+            }
+        }
+        assertEquals(top.stream().map(HighScoreModel::id).collect(Collectors.toSet()), persisted);
     }
 }
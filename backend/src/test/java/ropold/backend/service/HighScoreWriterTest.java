@@ -0,0 +1,144 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import ropold.backend.exception.HighScoreWriterBusyException;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.HighScoreWriterStats;
+import ropold.backend.repository.HighScoreRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class HighScoreWriterTest {
+
+    HighScoreRepository highScoreRepository = mock(HighScoreRepository.class);
+    HighScoreWriter highScoreWriter = new HighScoreWriter(highScoreRepository);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(highScoreWriter, "maxRetryDelayMs", 1000L);
+        highScoreWriter.start();
+    }
+
+    private static HighScoreModel score(String id) {
+        return new HighScoreModel(id, "player1", "123456", "ART", 0, 10.0, LocalDateTime.of(2025, 3, 5, 12, 0, 0));
+    }
+
+    @Test
+    void flush_writesQueuedChangesAsBatches() {
+        highScoreWriter.save(score("1"));
+        highScoreWriter.save(score("2"));
+        highScoreWriter.delete("3");
+
+        highScoreWriter.flush();
+
+        verify(highScoreRepository).saveAll(List.of(score("1"), score("2")));
+        verify(highScoreRepository).deleteAllById(List.of("3"));
+        HighScoreWriterStats stats = highScoreWriter.getStats();
+        assertEquals(0, stats.queueDepth());
+        assertEquals(3, stats.written());
+    }
+
+    @Test
+    void flush_saveFollowedByDeleteOfSameId_isCoalescedIntoDelete() {
+        highScoreWriter.save(score("1"));
+        highScoreWriter.delete("1");
+
+        highScoreWriter.flush();
+
+        verify(highScoreRepository, never()).saveAll(any());
+        verify(highScoreRepository).deleteAllById(List.of("1"));
+        assertEquals(1, highScoreWriter.getStats().coalesced());
+    }
+
+    @Test
+    void shutdown_writesEverythingStillQueued() throws InterruptedException {
+        highScoreWriter.save(score("1"));
+
+        highScoreWriter.shutdown();
+
+        verify(highScoreRepository).saveAll(List.of(score("1")));
+        assertEquals(0, highScoreWriter.getStats().queueDepth());
+    }
+
+    @Test
+    void shutdown_doesNotInterruptABatchInFlight() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(highScoreRepository.saveAll(any())).thenAnswer(invocation -> {
+            saving.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return invocation.getArgument(0);
+        });
+        highScoreWriter.save(score("1"));
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+
+        highScoreWriter.shutdown();
+
+        assertFalse(interrupted.get());
+        assertEquals(1, highScoreWriter.getStats().written());
+        assertEquals(0, highScoreWriter.getStats().failed());
+    }
+
+    @Test
+    void save_afterShutdown_isWrittenSynchronously() throws InterruptedException {
+        highScoreWriter.shutdown();
+
+        highScoreWriter.save(score("1"));
+
+        verify(highScoreRepository).saveAll(List.of(score("1")));
+    }
+
+    @Test
+    void flush_failedBatch_isRetriedUntilWritten() {
+        when(highScoreRepository.saveAll(any()))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        highScoreWriter.save(score("1"));
+        highScoreWriter.save(score("1"));
+
+        highScoreWriter.flush();
+
+        verify(highScoreRepository, times(2)).saveAll(List.of(score("1")));
+        HighScoreWriterStats stats = highScoreWriter.getStats();
+        assertEquals(1, stats.failedBatches());
+        assertEquals(1, stats.written());
+    }
+
+    @Test
+    void save_whenQueueIsFull_isRejected() throws InterruptedException {
+        HighScoreWriter small = new HighScoreWriter(highScoreRepository);
+        ReflectionTestUtils.setField(small, "queueCapacity", 1);
+        ReflectionTestUtils.setField(small, "offerTimeoutMs", 10L);
+        small.start();
+        CountDownLatch release = new CountDownLatch(1);
+        when(highScoreRepository.saveAll(any())).thenAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        small.save(score("1"));
+
+        assertThrows(HighScoreWriterBusyException.class, () -> small.save(score("2")));
+        assertEquals(1, small.getStats().rejected());
+
+        release.countDown();
+        small.flush();
+        small.save(score("3"));
+        small.shutdown();
+        verify(highScoreRepository).saveAll(List.of(score("3")));
+    }
+}
@@ -2,6 +2,9 @@ package ropold.backend.service;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class IdServiceTest {
@@ -34,4 +37,14 @@ class IdServiceTest {
         // Then
         assertTrue(randomId.matches("^[0-9a-fA-F-]{36}$"), "The generated ID should follow the UUID format");
     }
+
+    @Test
+    void generateRandomIds_ShouldReturnRequestedNumberOfUniqueIds() {
+        // When
+        List<String> randomIds = idService.generateRandomIds(3);
+
+        // Then
+        assertEquals(3, randomIds.size());
+        assertEquals(3, Set.copyOf(randomIds).size(), "The generated IDs should be unique");
+    }
 }
@@ -0,0 +1,100 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ropold.backend.model.LeaderboardEvent;
+import ropold.backend.model.LeaderboardPeriod;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+class LeaderboardBroadcasterTest {
+
+    LeaderboardBroadcaster leaderboardBroadcaster = new LeaderboardBroadcaster(new ObjectMapper());
+
+    private static final LeaderboardEvent EVENT =
+            new LeaderboardEvent(LeaderboardEvent.REMOVED, "ART", LeaderboardPeriod.ALL_TIME, 1, "1", -1, null);
+
+    @AfterEach
+    void tearDown() {
+        leaderboardBroadcaster.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_sendsTheSameFrameToEverySubscriber() throws IOException {
+        SseEmitter first = mock(SseEmitter.class);
+        SseEmitter second = mock(SseEmitter.class);
+        leaderboardBroadcaster.register(first);
+        leaderboardBroadcaster.register(second);
+
+        leaderboardBroadcaster.publish(EVENT);
+
+        ArgumentCaptor<Set<ResponseBodyEmitter.DataWithMediaType>> firstFrame = ArgumentCaptor.forClass(Set.class);
+        ArgumentCaptor<Set<ResponseBodyEmitter.DataWithMediaType>> secondFrame = ArgumentCaptor.forClass(Set.class);
+        verify(first, timeout(1000)).send(firstFrame.capture());
+        verify(second, timeout(1000)).send(secondFrame.capture());
+        assertSame(firstFrame.getValue(), secondFrame.getValue());
+    }
+
+    @Test
+    void publish_dropsSubscriberThatFails() throws IOException {
+        SseEmitter broken = mock(SseEmitter.class);
+        doThrow(new IOException("gone")).when(broken).send(anySet());
+        leaderboardBroadcaster.register(broken);
+
+        leaderboardBroadcaster.publish(EVENT);
+
+        verify(broken, timeout(1000)).completeWithError(any());
+        assertEquals(0, leaderboardBroadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void publish_slowSubscriberDoesNotHoldBackTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter slow = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(slow).send(anySet());
+        SseEmitter fast = mock(SseEmitter.class);
+        leaderboardBroadcaster.register(slow);
+        leaderboardBroadcaster.register(fast);
+
+        leaderboardBroadcaster.publish(EVENT);
+        leaderboardBroadcaster.publish(EVENT);
+
+        verify(fast, timeout(1000).times(2)).send(anySet());
+        release.countDown();
+        verify(slow, timeout(1000).times(2)).send(anySet());
+    }
+
+    @Test
+    void publish_dropsSubscriberThatFallsTooFarBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stuck = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(stuck).send(anySet());
+        leaderboardBroadcaster.register(stuck);
+
+        for (int i = 0; i < 100; i++) {
+            leaderboardBroadcaster.publish(EVENT);
+        }
+
+        verify(stuck, timeout(1000)).completeWithError(any());
+        assertEquals(0, leaderboardBroadcaster.getSubscriberCount());
+        release.countDown();
+    }
+}
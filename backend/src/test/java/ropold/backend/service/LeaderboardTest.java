@@ -0,0 +1,79 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.HighScoreModel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 3, 5, 12, 0, 0);
+
+    private static HighScoreModel score(String id, int wrongAnswerCount, double scoreTime) {
+        return new HighScoreModel(id, "player" + id, "123456", "ART", wrongAnswerCount, scoreTime, DATE);
+    }
+
+    @Test
+    void offer_keepsEntriesSortedAndBounded() {
+        Leaderboard leaderboard = new Leaderboard(3);
+
+        leaderboard.offer(score("1", 1, 10.0));
+        leaderboard.offer(score("2", 0, 20.0));
+        leaderboard.offer(score("3", 0, 15.0));
+        Leaderboard.Admission admission = leaderboard.offer(score("4", 0, 12.0));
+
+        assertTrue(admission.accepted());
+        assertEquals(1, admission.rank());
+        assertEquals("1", admission.evicted().id());
+        assertEquals(List.of("4", "3", "2"),
+                leaderboard.getEntries().stream().map(HighScoreModel::id).toList());
+    }
+
+    @Test
+    void offer_whenFull_rejectsTieWithLastPlace() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        leaderboard.offer(score("1", 0, 10.0));
+        leaderboard.offer(score("2", 0, 11.0));
+
+        Leaderboard.Admission admission = leaderboard.offer(score("3", 0, 11.0));
+
+        assertFalse(admission.accepted());
+        assertEquals(2, leaderboard.getEntries().size());
+    }
+
+    @Test
+    void reset_returnsEntriesThatDoNotFit() {
+        Leaderboard leaderboard = new Leaderboard(2);
+
+        List<HighScoreModel> surplus = leaderboard.reset(List.of(score("1", 2, 10.0), score("2", 0, 10.0), score("3", 1, 10.0)));
+
+        assertEquals(List.of("2", "3"), leaderboard.getEntries().stream().map(HighScoreModel::id).toList());
+        assertEquals("1", surplus.getFirst().id());
+    }
+
+    @Test
+    void remove_dropsEntry() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        leaderboard.offer(score("1", 0, 10.0));
+
+        assertTrue(leaderboard.remove("1"));
+        assertFalse(leaderboard.remove("1"));
+        assertTrue(leaderboard.getEntries().isEmpty());
+    }
+
+    @Test
+    void rankOf_placesTiesBehindExistingEntries() {
+        Leaderboard leaderboard = new Leaderboard(3);
+        leaderboard.offer(score("1", 0, 10.0));
+        leaderboard.offer(score("2", 0, 12.0));
+        leaderboard.offer(score("3", 1, 5.0));
+
+        assertEquals(1, leaderboard.rankOf(0, 9.0));
+        assertEquals(2, leaderboard.rankOf(0, 10.0));
+        assertEquals(3, leaderboard.rankOf(1, 4.0));
+        assertEquals(4, leaderboard.rankOf(1, 5.0));
+    }
+}
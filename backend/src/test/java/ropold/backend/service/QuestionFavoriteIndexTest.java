@@ -0,0 +1,171 @@
+package ropold.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ropold.backend.model.AppUser;
+import ropold.backend.model.MigrationModel;
+import ropold.backend.model.QuestionFavoriteModel;
+import ropold.backend.repository.AppUserRepository;
+import ropold.backend.repository.QuestionFavoriteRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuestionFavoriteIndexTest {
+
+    QuestionFavoriteRepository questionFavoriteRepository = mock(QuestionFavoriteRepository.class);
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    AppUserRepository appUserRepository = mock(AppUserRepository.class);
+    AppUserCache appUserCache = new AppUserCache(appUserRepository);
+    IndexOperations indexOperations = mock(IndexOperations.class);
+    QuestionFavoriteIndex questionFavoriteIndex =
+            new QuestionFavoriteIndex(questionFavoriteRepository, mongoTemplate, appUserCache);
+
+    @BeforeEach
+    void setup() {
+        when(mongoTemplate.indexOps(QuestionFavoriteModel.class)).thenReturn(indexOperations);
+    }
+
+    @Test
+    void add_savesEntryWithIdFromQuestionAndUser() {
+        questionFavoriteIndex.add("user", "q1");
+
+        verify(questionFavoriteRepository).save(new QuestionFavoriteModel("q1:user", "q1", "user"));
+    }
+
+    @Test
+    void remove_deletesEntriesById() {
+        questionFavoriteIndex.remove("user", List.of("q1", "q2"));
+
+        verify(questionFavoriteRepository).deleteAllById(List.of("q1:user", "q2:user"));
+    }
+
+    @Test
+    void removeQuestion_pullsTheIdOnlyFromIndexedUsersAndInvalidatesThem() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of("q1"));
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user));
+        appUserCache.findById("user");
+        when(questionFavoriteRepository.findAllByQuestionId("q1"))
+                .thenReturn(List.of(new QuestionFavoriteModel("q1:user", "q1", "user")));
+
+        questionFavoriteIndex.removeQuestion("q1");
+
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(AppUser.class));
+        verify(questionFavoriteRepository).deleteAllByQuestionId("q1");
+        appUserCache.findById("user");
+        verify(appUserRepository, times(2)).findById("user");
+    }
+
+    @Test
+    void removeQuestion_notFavorited_doesNotTouchUsers() {
+        when(questionFavoriteRepository.findAllByQuestionId("q1")).thenReturn(List.of());
+
+        questionFavoriteIndex.removeQuestion("q1");
+
+        verifyNoInteractions(mongoTemplate);
+        verify(questionFavoriteRepository).deleteAllByQuestionId("q1");
+    }
+
+    @Test
+    void countFavorites_usesTheIndex() {
+        when(questionFavoriteRepository.countByQuestionId("q1")).thenReturn(3L);
+
+        assertEquals(3, questionFavoriteIndex.countFavorites("q1"));
+    }
+
+    @Test
+    void countFavorites_ofSeveralQuestions_mapsTheGroupedCounts() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(QuestionFavoriteModel.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("_id", "q1").append("count", 2)), new Document()));
+
+        assertEquals(Map.of("q1", 2L), questionFavoriteIndex.countFavorites(List.of("q1", "q2")));
+    }
+
+    @Test
+    void rebuild_savesFavoritesOfUsersEvenIfTheIndexIsNotEmpty() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of("q1"));
+        when(mongoTemplate.stream(any(Query.class), eq(AppUser.class))).thenReturn(Stream.of(user));
+        when(questionFavoriteRepository.count()).thenReturn(10L);
+
+        questionFavoriteIndex.rebuild();
+
+        verify(questionFavoriteRepository).saveAll(List.of(new QuestionFavoriteModel("q1:user", "q1", "user")));
+    }
+
+    @Test
+    void rebuild_deletesEntriesTheUserNoLongerHas() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of("q1"));
+        when(mongoTemplate.stream(any(Query.class), eq(AppUser.class))).thenReturn(Stream.empty());
+        when(mongoTemplate.stream(any(Query.class), eq(QuestionFavoriteModel.class))).thenReturn(Stream.of(
+                new QuestionFavoriteModel("q1:user", "q1", "user"),
+                new QuestionFavoriteModel("q2:user", "q2", "user"),
+                new QuestionFavoriteModel("q1:gone", "q1", "gone")));
+        when(mongoTemplate.find(any(Query.class), eq(AppUser.class))).thenReturn(List.of(user));
+
+        questionFavoriteIndex.rebuild();
+
+        verify(questionFavoriteRepository).deleteAllById(List.of("q2:user", "q1:gone"));
+    }
+
+    @Test
+    void rebuild_marksTheBackfillAsDoneAndDropsTheUnusedUserIndex() {
+        IndexInfo userIndex = mock(IndexInfo.class);
+        when(userIndex.getName()).thenReturn("user");
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(userIndex));
+
+        questionFavoriteIndex.rebuild();
+
+        verify(indexOperations).dropIndex("user");
+        verify(mongoTemplate).save(argThat((MigrationModel migration) -> migration.id().equals("question-favorite-index-backfill")));
+    }
+
+    @Test
+    void rebuild_alreadyBackfilled_doesNotScanTheUsers() {
+        when(mongoTemplate.exists(any(Query.class), eq(MigrationModel.class))).thenReturn(true);
+
+        questionFavoriteIndex.rebuild();
+
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(AppUser.class));
+        verifyNoInteractions(questionFavoriteRepository);
+    }
+
+    @Test
+    void repair_syncsFailedWritesWithTheUser() {
+        AppUser user = new AppUser("user", "username", "name", "avatarUrl", "githubUrl", List.of("q1"));
+        when(mongoTemplate.find(any(Query.class), eq(AppUser.class))).thenReturn(List.of(user));
+        questionFavoriteIndex.repairLater("user", List.of("q1", "q2"));
+
+        questionFavoriteIndex.repair();
+
+        verify(questionFavoriteRepository).saveAll(List.of(new QuestionFavoriteModel("q1:user", "q1", "user")));
+        verify(questionFavoriteRepository).deleteAllById(List.of("q2:user"));
+    }
+
+    @Test
+    void repair_failsAgain_isRetriedNextTime() {
+        when(mongoTemplate.find(any(Query.class), eq(AppUser.class)))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of());
+        questionFavoriteIndex.repairLater("user", List.of("q1"));
+
+        questionFavoriteIndex.repair();
+        questionFavoriteIndex.repair();
+
+        verify(questionFavoriteRepository).deleteAllById(List.of("q1:user"));
+    }
+}
@@ -0,0 +1,124 @@
+package ropold.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.QuestionImportResult;
+import ropold.backend.model.QuestionModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class QuestionImportServiceTest {
+
+    QuestionService questionService = mock(QuestionService.class);
+    ObjectMapper objectMapper = new ObjectMapper();
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    QuestionImportService questionImportService = new QuestionImportService(questionService, objectMapper, validator);
+
+    private static final String VALID_JAPAN = """
+            {"title":"Land der aufgehenden Sonne","categoryEnum":"GEOGRAPHY","clueWords":["Sushi","Kimono","Samurai","Fuji"],"solutionWord":"Japan","answerExplanation":"Alle Hinweise deuten auf Japan.","isActive":true,"githubId":"user"}""";
+    private static final String VALID_HOLMES = """
+            {"title":"Berühmter Detektiv","categoryEnum":"FICTIONAL_CHARACTERS","clueWords":["London","Pfeife","Watson","Deduktion"],"solutionWord":"Sherlock Holmes","answerExplanation":"Die Begriffe beschreiben Sherlock Holmes.","isActive":true,"githubId":"user"}""";
+    private static final String INVALID = """
+            {"title":"Ab","categoryEnum":"GEOGRAPHY","clueWords":["Sushi"],"solutionWord":"Japan","answerExplanation":"Japan.","isActive":true,"githubId":"user"}""";
+
+    private List<QuestionImportResult> runImport(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        questionImportService.importQuestions(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<QuestionImportResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, QuestionImportResult.class));
+            }
+        }
+        return results;
+    }
+
+    private void answerWithGeneratedIds() {
+        when(questionService.addQuestions(anyList())).thenAnswer(invocation -> {
+            List<QuestionModel> batch = invocation.getArgument(0);
+            List<QuestionImportResult> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(new QuestionImportResult(i, "id-" + batch.get(i).title(), true, null));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void importQuestions_ndjson_reportsInvalidRecordsAndSavesTheRest() throws IOException {
+        answerWithGeneratedIds();
+
+        List<QuestionImportResult> results = runImport(VALID_JAPAN + "\n" + INVALID + "\n" + VALID_HOLMES + "\n");
+
+        assertEquals(3, results.size());
+        QuestionImportResult invalid = results.getFirst();
+        assertEquals(1, invalid.index());
+        assertFalse(invalid.success());
+        assertTrue(invalid.error().contains("clueWords"));
+        assertEquals(new QuestionImportResult(0, "id-Land der aufgehenden Sonne", true, null), results.get(1));
+        assertEquals(new QuestionImportResult(2, "id-Berühmter Detektiv", true, null), results.get(2));
+        verify(questionService, times(1)).addQuestions(anyList());
+    }
+
+    @Test
+    void importQuestions_jsonArray_flushesInBatches() throws IOException {
+        answerWithGeneratedIds();
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 501; i++) {
+            body.append(i == 0 ? "" : ",").append(VALID_JAPAN);
+        }
+        body.append("]");
+
+        List<QuestionImportResult> results = runImport(body.toString());
+
+        assertEquals(501, results.size());
+        assertEquals(500, results.get(500).index());
+        assertTrue(results.stream().allMatch(QuestionImportResult::success));
+        verify(questionService, times(2)).addQuestions(anyList());
+    }
+
+    @Test
+    void importQuestions_malformedJson_stopsAndKeepsEarlierRecords() throws IOException {
+        answerWithGeneratedIds();
+
+        List<QuestionImportResult> results = runImport(VALID_JAPAN + "\n{\"title\": \n");
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.getFirst().index());
+        assertTrue(results.getFirst().error().startsWith("Malformed JSON"));
+        assertTrue(results.get(1).success());
+    }
+
+    @Test
+    void importQuestions_unknownCategory_isReportedPerRecord() throws IOException {
+        List<QuestionImportResult> results = runImport(VALID_JAPAN.replace("GEOGRAPHY", "NOPE"));
+
+        assertEquals(1, results.size());
+        assertFalse(results.getFirst().success());
+        verifyNoInteractions(questionService);
+    }
+
+    @Test
+    void importQuestions_nullAndNonObjectElements_areReportedPerRecord() throws IOException {
+        answerWithGeneratedIds();
+
+        List<QuestionImportResult> results = runImport("[null, 42, " + VALID_JAPAN + ", \"text\"]");
+
+        assertEquals(4, results.size());
+        assertEquals(new QuestionImportResult(0, null, false, "Expected a JSON object"), results.get(0));
+        assertEquals(new QuestionImportResult(1, null, false, "Expected a JSON object"), results.get(1));
+        assertEquals(new QuestionImportResult(3, null, false, "Expected a JSON object"), results.get(2));
+        assertEquals(new QuestionImportResult(2, "id-Land der aufgehenden Sonne", true, null), results.get(3));
+    }
+}
@@ -0,0 +1,164 @@
+package ropold.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.MigrationModel;
+import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionStatsModel;
+import ropold.backend.repository.QuestionRepository;
+import ropold.backend.repository.QuestionStatsRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuestionPopularityTrackerTest {
+
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    BulkOperations bulkOperations = mock(BulkOperations.class);
+    QuestionStatsRepository questionStatsRepository = mock(QuestionStatsRepository.class);
+    QuestionRepository questionRepository = mock(QuestionRepository.class);
+    ActiveQuestionCache activeQuestionCache = new ActiveQuestionCache(questionRepository);
+    QuestionFavoriteIndex questionFavoriteIndex = mock(QuestionFavoriteIndex.class);
+    QuestionPopularityTracker questionPopularityTracker =
+            new QuestionPopularityTracker(mongoTemplate, questionStatsRepository, activeQuestionCache, questionFavoriteIndex);
+
+    private static QuestionModel question(String id) {
+        return new QuestionModel(id, "Titel", CategoryEnum.GEOGRAPHY, List.of("a", "b", "c", "d"),
+                "Lösung", "Erklärung", true, "user", null);
+    }
+
+    private void stubBulk() {
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(question("1")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionStatsModel.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void flush_sendsOneIncUpsertPerQuestionWithTheCategory() {
+        stubBulk();
+        questionPopularityTracker.played("1");
+        questionPopularityTracker.played("1");
+        questionPopularityTracker.answered("1", false);
+
+        questionPopularityTracker.flush();
+
+        verify(bulkOperations, times(1)).upsert(any(Query.class), argThat((Update update) -> {
+            Document inc = update.getUpdateObject().get("$inc", Document.class);
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            return inc.get("plays").equals(2L) && inc.get("wrongAnswers").equals(1L)
+                    && set.get("categoryEnum") == CategoryEnum.GEOGRAPHY;
+        }));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void flush_nothingCounted_doesNotWrite() {
+        questionPopularityTracker.flush();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void flush_favoriteChange_setsTheCountFromTheIndex() {
+        stubBulk();
+        when(questionFavoriteIndex.countFavorites(anyCollection())).thenReturn(Map.of("1", 7L));
+        questionPopularityTracker.favoriteAdded("1");
+        questionPopularityTracker.favoriteRemoved("1");
+
+        questionPopularityTracker.flush();
+
+        verify(bulkOperations).upsert(any(Query.class), argThat((Update update) ->
+                update.getUpdateObject().get("$set", Document.class).get("favorites").equals(7L)));
+    }
+
+    @Test
+    void flush_unknownQuestion_isSkipped() {
+        stubBulk();
+        questionPopularityTracker.played("missing");
+
+        questionPopularityTracker.flush();
+
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, never()).execute();
+    }
+
+    @Test
+    void remove_dropsPendingCountsAndDeletesTheStatsAgainOnTheNextFlush() {
+        stubBulk();
+        questionPopularityTracker.played("1");
+
+        questionPopularityTracker.remove("1");
+        questionPopularityTracker.flush();
+
+        verify(questionStatsRepository).deleteById("1");
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations).remove(any(Query.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void flush_countedDeltasAreOnlyWrittenOnce() {
+        stubBulk();
+        questionPopularityTracker.played("1");
+
+        questionPopularityTracker.flush();
+        questionPopularityTracker.flush();
+
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void flush_failedWrite_keepsDeltasForTheNextFlush() {
+        stubBulk();
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("down"));
+        questionPopularityTracker.played("1");
+
+        questionPopularityTracker.flush();
+        questionPopularityTracker.flush();
+
+        verify(bulkOperations, times(2)).upsert(any(Query.class), argThat((Update update) ->
+                update.getUpdateObject().get("$inc", Document.class).get("plays").equals(1L)));
+    }
+
+    @Test
+    void getPopular_withCategory_queriesThatCategory() {
+        questionPopularityTracker.getPopular(CategoryEnum.GEOGRAPHY, 5);
+
+        verify(questionStatsRepository).findAllByCategoryEnumOrderByFavoritesDescPlaysDesc(eq(CategoryEnum.GEOGRAPHY), any());
+    }
+
+    @Test
+    void seedFavorites_copiesTheIndexCountsOnce() {
+        stubBulk();
+        when(questionFavoriteIndex.countAllFavorites()).thenReturn(Map.of("1", 3L));
+        when(questionFavoriteIndex.countFavorites(anyCollection())).thenReturn(Map.of("1", 3L));
+
+        questionPopularityTracker.seedFavorites();
+
+        verify(bulkOperations).upsert(any(Query.class), argThat((Update update) ->
+                update.getUpdateObject().get("$set", Document.class).get("favorites").equals(3L)));
+        verify(mongoTemplate).save(argThat((MigrationModel migration) -> migration.id().equals("question-stats-favorites-seed")));
+        verify(questionStatsRepository, never()).findAll();
+    }
+
+    @Test
+    void seedFavorites_alreadySeeded_doesNothing() {
+        when(mongoTemplate.exists(any(Query.class), eq(MigrationModel.class))).thenReturn(true);
+
+        questionPopularityTracker.seedFavorites();
+
+        verifyNoInteractions(questionFavoriteIndex);
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(QuestionStatsModel.class));
+    }
+}
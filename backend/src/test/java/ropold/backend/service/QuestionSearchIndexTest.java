@@ -0,0 +1,84 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionModel;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class QuestionSearchIndexTest {
+
+    ActiveQuestionCache activeQuestionCache = mock(ActiveQuestionCache.class);
+    QuestionSearchIndex questionSearchIndex = new QuestionSearchIndex(activeQuestionCache);
+
+    QuestionModel egypt = new QuestionModel(
+            "1", "Pyramidenland", CategoryEnum.GEOGRAPHY,
+            List.of("Wüste", "Kamel", "Nil", "Pharao"), "Ägypten", "Erklärung",
+            true, "user", null);
+
+    QuestionModel hippo = new QuestionModel(
+            "2", "Dickhäuter", CategoryEnum.ANIMALS,
+            List.of("Fluss", "Afrika", "Schwer", "Maul"), "Nilpferd", "Erklärung",
+            true, "user", null);
+
+    @BeforeEach
+    void setUp() {
+        when(activeQuestionCache.getActiveQuestions()).thenReturn(List.of(egypt, hippo));
+    }
+
+    @Test
+    void tokenize_shouldLowercaseAndStripDiacritics() {
+        assertEquals(Set.of("agypten", "wuste"), QuestionSearchIndex.tokenize("Ägypten, Wüste"));
+    }
+
+    @Test
+    void search_shouldMatchPrefixes() {
+        assertEquals(List.of("1", "2"), questionSearchIndex.search("nil", null, 10));
+        assertEquals(List.of("2"), questionSearchIndex.search("nilpf", null, 10));
+    }
+
+    @Test
+    void search_shouldRankTitleMatchesAboveClueMatches() {
+        questionSearchIndex.search("nil", null, 10);
+        questionSearchIndex.put(new QuestionModel(
+                "3", "Nil Kreuzfahrt", CategoryEnum.GEOGRAPHY,
+                List.of("Schiff", "Kabine", "Fluss", "Reise"), "Luxor", "Erklärung",
+                true, "user", null));
+
+        assertEquals(List.of("3", "1", "2"), questionSearchIndex.search("nil", null, 10));
+        assertEquals(List.of("3"), questionSearchIndex.search("nil", null, 1));
+    }
+
+    @Test
+    void search_skippedIds_doNotUseUpTheLimit() {
+        assertEquals(List.of("2"), questionSearchIndex.search("nil", null, 1, id -> !id.equals("1")));
+    }
+
+    @Test
+    void search_shouldRequireAllTokensAndRespectCategory() {
+        assertEquals(List.of("1"), questionSearchIndex.search("nil kamel", null, 10));
+        assertEquals(List.of(), questionSearchIndex.search("nil", CategoryEnum.SPORTS, 10));
+        assertEquals(List.of("1"), questionSearchIndex.search("nil", CategoryEnum.GEOGRAPHY, 10));
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateIndexIncrementally() {
+        questionSearchIndex.search("nil", null, 10);
+
+        QuestionModel renamed = new QuestionModel(
+                "1", "Wüstenstaat", CategoryEnum.GEOGRAPHY,
+                List.of("Sand", "Kamel", "Oase", "Pharao"), "Ägypten", "Erklärung",
+                true, "user", null);
+        questionSearchIndex.put(renamed);
+        questionSearchIndex.remove("2");
+
+        assertEquals(List.of(), questionSearchIndex.search("nil", null, 10));
+        assertEquals(List.of("1"), questionSearchIndex.search("oase", null, 10));
+        verify(activeQuestionCache, times(1)).getActiveQuestions();
+    }
+}
@@ -1,15 +1,29 @@
 package ropold.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.BsonDocument;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import ropold.backend.exception.InvalidCursorException;
 import ropold.backend.model.CategoryEnum;
+import ropold.backend.model.QuestionImportResult;
 import ropold.backend.model.QuestionModel;
+import ropold.backend.model.QuestionPage;
+import ropold.backend.model.QuestionSummary;
 import ropold.backend.repository.QuestionRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -17,8 +31,14 @@ class QuestionServiceTest {
 
     IdService idService = mock(IdService.class);
     QuestionRepository questionRepository = mock(QuestionRepository.class);
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
     CloudinaryService cloudinaryService = mock(CloudinaryService.class);
-    QuestionService questionService = new QuestionService(idService, questionRepository, cloudinaryService);
+    ActiveQuestionCache activeQuestionCache = spy(new ActiveQuestionCache(questionRepository));
+    QuestionSearchIndex questionSearchIndex = new QuestionSearchIndex(activeQuestionCache);
+    QuestionSummaryCache questionSummaryCache = new QuestionSummaryCache(new ObjectMapper());
+    QuestionPopularityTracker questionPopularityTracker = mock(QuestionPopularityTracker.class);
+    QuestionFavoriteIndex questionFavoriteIndex = mock(QuestionFavoriteIndex.class);
+    QuestionService questionService = new QuestionService(idService, questionRepository, mongoTemplate, cloudinaryService, activeQuestionCache, questionSearchIndex, questionSummaryCache, questionPopularityTracker, questionFavoriteIndex);
 
     List<QuestionModel> questionModels;
 
@@ -49,6 +69,7 @@ class QuestionServiceTest {
                 "https://example.com/harrypotter.jpg"
         );
         when(questionRepository.findAll()).thenReturn(List.of(questionModel1, questionModel2));
+        when(questionRepository.findAllByIsActiveTrue()).thenReturn(List.of(questionModel1));
         questionModels = List.of(questionModel1, questionModel2);
     }
 
@@ -67,6 +88,83 @@ class QuestionServiceTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void testGetActiveQuestions_shouldOnlyLoadRepositoryOnce() {
+        questionService.getActiveQuestions();
+        questionService.getActiveQuestions();
+
+        verify(questionRepository, times(1)).findAllByIsActiveTrue();
+        verify(questionRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetRandomDeck() {
+        List<QuestionModel> result = questionService.getRandomDeck(CategoryEnum.GEOGRAPHY, 10);
+
+        assertEquals(List.of(questionModels.getFirst()), result);
+        verify(questionRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetRandomDeck_whenCategoryHasNoQuestions_shouldReturnEmptyDeck() {
+        List<QuestionModel> result = questionService.getRandomDeck(CategoryEnum.SPORTS, 10);
+
+        assertEquals(List.of(), result);
+    }
+
+    @Test
+    void testSearchQuestions_shouldOnlyReturnActiveMatches() {
+        assertEquals(List.of(questionModels.getFirst()), questionService.searchQuestions("kamel", null, 20));
+        assertEquals(List.of(), questionService.searchQuestions("hogwarts", null, 20));
+        assertEquals(List.of(), questionService.searchQuestions("kamel", CategoryEnum.ART, 20));
+    }
+
+    @Test
+    void testGetActiveQuestionSummariesJson_shouldSerializeOncePerSnapshotVersion() {
+        byte[] first = questionService.getActiveQuestionSummariesJson();
+        byte[] second = questionService.getActiveQuestionSummariesJson();
+
+        String json = new String(first, StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"title\":\"Pyramidenland\""));
+        assertFalse(json.contains("answerExplanation"));
+        assertSame(first, second);
+    }
+
+    @Test
+    void testGetAllQuestionSummariesJson_shouldUseProjection() {
+        when(questionRepository.findAllBy(QuestionSummary.class)).thenReturn(List.of(
+                new QuestionSummary("1", "Pyramidenland", CategoryEnum.GEOGRAPHY, true, "user", null)));
+
+        String json = new String(questionService.getAllQuestionSummariesJson(), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"id\":\"1\""));
+        verify(questionRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetQuestionPage_shouldReportMoreAndEncodeCursor() {
+        when(questionRepository.findAllByIdGreaterThanOrderByIdAsc("", Limit.of(2))).thenReturn(questionModels);
+
+        QuestionPage result = questionService.getQuestionPage(null, 1);
+
+        assertEquals(List.of(questionModels.getFirst()), result.questions());
+        assertTrue(result.hasMore());
+        assertNotNull(result.nextCursor());
+
+        when(questionRepository.findAllByIdGreaterThanOrderByIdAsc("1", Limit.of(2))).thenReturn(List.of(questionModels.get(1)));
+
+        QuestionPage secondPage = questionService.getQuestionPage(result.nextCursor(), 1);
+
+        assertEquals(List.of(questionModels.get(1)), secondPage.questions());
+        assertFalse(secondPage.hasMore());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void testGetQuestionPage_withInvalidCursor_shouldThrow() {
+        assertThrows(InvalidCursorException.class, () -> questionService.getQuestionPage("not*base64", 1));
+    }
+
     @Test
     void testGetQuestionById() {
         QuestionModel expected = questionModels.getFirst();
@@ -104,6 +202,58 @@ class QuestionServiceTest {
         assertEquals(questionModel3, expected);
         verify(idService, times(1)).generateRandomId();
         verify(questionRepository, times(1)).save(questionModel3);
+        verify(activeQuestionCache, times(1)).put(questionModel3);
+    }
+
+    @Test
+    void testAddQuestions_shouldInsertInOneBulkAndReportEachItem() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionModel.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(idService.generateRandomIds(2)).thenReturn(List.of("10", "11"));
+
+        List<QuestionImportResult> results = questionService.addQuestions(questionModels);
+
+        assertEquals(List.of(
+                new QuestionImportResult(0, "10", true, null),
+                new QuestionImportResult(1, "11", true, null)
+        ), results);
+        verify(bulkOperations, times(1)).execute();
+        verify(questionRepository, never()).save(any());
+    }
+
+    @Test
+    void testAddQuestions_shouldReportFailedItemsAndKeepTheRest() {
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        BulkOperationException exception = mock(BulkOperationException.class);
+        when(exception.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionModel.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(exception);
+        when(idService.generateRandomIds(2)).thenReturn(List.of("10", "11"));
+
+        List<QuestionImportResult> results = questionService.addQuestions(questionModels);
+
+        assertEquals(new QuestionImportResult(0, "10", true, null), results.get(0));
+        assertEquals(new QuestionImportResult(1, null, false, "duplicate key"), results.get(1));
+    }
+
+    @Test
+    void testAddQuestions_laterChunkFailsHard_cachesStillSeeEarlierChunks() {
+        ReflectionTestUtils.setField(questionService, "importChunkSize", 1);
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionModel.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenReturn(null)
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+        when(idService.generateRandomIds(2)).thenReturn(List.of("10", "11"));
+        String etagBefore = questionService.getQuestionsEtag();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> questionService.addQuestions(questionModels));
+
+        verify(activeQuestionCache).putAll(argThat(inserted -> inserted.size() == 1 && inserted.iterator().next().id().equals("10")));
+        assertNotEquals(etagBefore, questionService.getQuestionsEtag());
     }
 
     @Test
@@ -137,6 +287,8 @@ class QuestionServiceTest {
         questionService.deleteQuestion("1");
         verify(questionRepository, times(1)).deleteById("1");
         verify(cloudinaryService, times(1)).deleteImage(questionModel.imageUrl());
+        verify(questionFavoriteIndex, times(1)).removeQuestion("1");
+        verify(activeQuestionCache, times(1)).remove("1");
     }
 
     @Test
@@ -146,12 +298,13 @@ class QuestionServiceTest {
                 .filter(questionModel -> questionModel.githubId().equals(githubId))
                 .toList();
 
-        when(questionRepository.findAll()).thenReturn(questionModels);
+        when(questionRepository.findAllByGithubId(githubId)).thenReturn(expectedQuestions);
 
         List<QuestionModel> result = questionService.getQuestionsForGithubUser(githubId);
 
         assertEquals(expectedQuestions, result);
-        verify(questionRepository, times(1)).findAll();
+        verify(questionRepository, times(1)).findAllByGithubId(githubId);
+        verify(questionRepository, never()).findAll();
     }
 
     @Test
@@ -0,0 +1,46 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreHistogramTest {
+
+    @Test
+    void percentiles_comeFromBucketsWithoutKeepingValues() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(i < 80 ? 0 : 3, i + 0.5);
+        }
+
+        assertEquals(100, histogram.getGames());
+        assertEquals(50.0, histogram.getScoreTimePercentile(50));
+        assertEquals(90.0, histogram.getScoreTimePercentile(90));
+        assertEquals(0, histogram.getWrongAnswerPercentile(50));
+        assertEquals(3, histogram.getWrongAnswerPercentile(90));
+    }
+
+    @Test
+    void beatenPercent_ranksWrongAnswersBeforeTime() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.record(0, 10.0);
+        histogram.record(0, 30.0);
+        histogram.record(1, 5.0);
+        histogram.record(2, 5.0);
+
+        assertEquals(75.0, histogram.getBeatenPercent(0, 20.0));
+        assertEquals(50.0, histogram.getBeatenPercent(1, 1.0));
+        assertEquals(0.0, histogram.getBeatenPercent(5, 1.0));
+    }
+
+    @Test
+    void outOfRangeValues_landInOverflowBuckets() {
+        ScoreHistogram histogram = new ScoreHistogram();
+
+        histogram.record(50, 10_000.0);
+
+        assertEquals(1, histogram.getWrongAnswerBuckets().getLast());
+        assertEquals(1, histogram.getScoreTimeBuckets().getLast());
+        assertEquals(-1, new ScoreHistogram().getScoreTimePercentile(50));
+    }
+}
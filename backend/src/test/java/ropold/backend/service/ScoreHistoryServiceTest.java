@@ -0,0 +1,97 @@
+package ropold.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import ropold.backend.model.DailyScoreAggregate;
+import ropold.backend.model.HighScoreModel;
+import ropold.backend.model.ScoreHistoryModel;
+import ropold.backend.repository.DailyScoreAggregateRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ScoreHistoryServiceTest {
+
+    IdService idService = mock(IdService.class);
+    ScoreHistoryWriter scoreHistoryWriter = mock(ScoreHistoryWriter.class);
+    DailyScoreAggregateRepository dailyScoreAggregateRepository = mock(DailyScoreAggregateRepository.class);
+    MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    ScoreHistoryService scoreHistoryService =
+            new ScoreHistoryService(idService, scoreHistoryWriter, dailyScoreAggregateRepository, mongoTemplate);
+
+    @Test
+    void record_appendsEntryWithNormalizedCategory() {
+        when(idService.generateRandomId()).thenReturn("h1");
+        HighScoreModel highScoreModel = new HighScoreModel(
+                null, "player1", "123456", null, 2, 31.5, LocalDateTime.of(2025, 3, 5, 12, 0, 0));
+
+        scoreHistoryService.record(highScoreModel, "RANDOM");
+
+        verify(scoreHistoryWriter).append(argThat(entry ->
+                entry.id().equals("h1")
+                        && entry.categoryEnum().equals("RANDOM")
+                        && entry.wrongAnswerCount() == 2
+                        && entry.submittedAt() != null));
+    }
+
+    @Test
+    void rollUp_storesOneAggregatePerCategoryAndDay() {
+        LocalDate day = LocalDate.of(2025, 3, 5);
+        ScoreHistoryService.CategoryTotals totals = new ScoreHistoryService.CategoryTotals("ART", 4, 1, 9.5, 20.25, 1.5);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ScoreHistoryModel.class), eq(ScoreHistoryService.CategoryTotals.class)))
+                .thenReturn(new AggregationResults<>(List.of(totals), new Document()));
+        when(dailyScoreAggregateRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<DailyScoreAggregate> aggregates = scoreHistoryService.rollUp(day);
+
+        assertEquals(List.of(new DailyScoreAggregate("2025-03-05:ART", day, "ART", 4, 1, 9.5, 20.25, 1.5)), aggregates);
+    }
+
+    @Test
+    void getDailyAggregates_normalizesTheCategory() {
+        scoreHistoryService.getDailyAggregates("art", 7);
+        scoreHistoryService.getDailyAggregates("random", 7);
+
+        verify(dailyScoreAggregateRepository).findAllByCategoryEnumAndDayGreaterThanEqualOrderByDayAsc(eq("ART"), any());
+        verify(dailyScoreAggregateRepository).findAllByCategoryEnumAndDayGreaterThanEqualOrderByDayAsc(eq("RANDOM"), any());
+    }
+
+    @Test
+    void rollUpMissedDays_rollsUpEveryDaySinceTheLastAggregate() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        scoreHistoryService.setClock(Clock.fixed(LocalDate.of(2025, 3, 8).atTime(9, 0).atZone(zone).toInstant(), zone));
+        LocalDate lastDay = LocalDate.of(2025, 3, 5);
+        when(dailyScoreAggregateRepository.findFirstByOrderByDayDesc()).thenReturn(Optional.of(
+                new DailyScoreAggregate(lastDay + ":ART", lastDay, "ART", 1, 0, 10.0, 10.0, 1.0)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ScoreHistoryModel.class), eq(ScoreHistoryService.CategoryTotals.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        scoreHistoryService.rollUpMissedDays();
+
+        verify(mongoTemplate, times(2))
+                .aggregate(any(Aggregation.class), eq(ScoreHistoryModel.class), eq(ScoreHistoryService.CategoryTotals.class));
+    }
+
+    @Test
+    void rollUpMissedDays_noAggregatesAndNoHistory_doesNothing() {
+        when(dailyScoreAggregateRepository.findFirstByOrderByDayDesc()).thenReturn(Optional.empty());
+
+        scoreHistoryService.rollUpMissedDays();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(ScoreHistoryModel.class), eq(ScoreHistoryService.CategoryTotals.class));
+    }
+}
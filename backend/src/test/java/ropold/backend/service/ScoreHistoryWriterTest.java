@@ -0,0 +1,82 @@
+package ropold.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ropold.backend.model.ScoreHistoryModel;
+import ropold.backend.repository.ScoreHistoryRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ScoreHistoryWriterTest {
+
+    ScoreHistoryRepository scoreHistoryRepository = mock(ScoreHistoryRepository.class);
+    ScoreHistoryWriter scoreHistoryWriter = new ScoreHistoryWriter(scoreHistoryRepository);
+
+    @BeforeEach
+    void setup() {
+        scoreHistoryWriter.start();
+    }
+
+    private static ScoreHistoryModel entry(String id) {
+        return new ScoreHistoryModel(id, "player1", "123456", "ART", 0, 10.0,
+                LocalDateTime.of(2025, 3, 5, 12, 0, 0), Instant.parse("2025-03-05T11:00:00Z"));
+    }
+
+    @Test
+    void flush_returnsOnceEverythingAppendedIsInserted() {
+        List<ScoreHistoryModel> inserted = new CopyOnWriteArrayList<>();
+        when(scoreHistoryRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<ScoreHistoryModel> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return batch;
+        });
+        scoreHistoryWriter.append(entry("h1"));
+        scoreHistoryWriter.append(entry("h2"));
+
+        scoreHistoryWriter.flush();
+
+        assertEquals(List.of(entry("h1"), entry("h2")), inserted);
+    }
+
+    @Test
+    void shutdown_doesNotInterruptAnInsertInFlight() throws InterruptedException {
+        CountDownLatch inserting = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(scoreHistoryRepository.insert(anyList())).thenAnswer(invocation -> {
+            inserting.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return invocation.getArgument(0);
+        });
+        scoreHistoryWriter.append(entry("h1"));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+
+        scoreHistoryWriter.shutdown();
+
+        assertFalse(interrupted.get());
+        verify(scoreHistoryRepository, times(1)).insert(List.of(entry("h1")));
+    }
+
+    @Test
+    void append_afterShutdown_isStillInserted() throws InterruptedException {
+        scoreHistoryWriter.shutdown();
+
+        scoreHistoryWriter.append(entry("h1"));
+
+        verify(scoreHistoryRepository).insert(List.of(entry("h1")));
+    }
+}
@@ -7,6 +7,7 @@ type GameProps = {
     currentQuestions: QuestionModel[];
     setGameFinished: React.Dispatch<React.SetStateAction<boolean>>;
     setWrongAnswerCount: React.Dispatch<React.SetStateAction<number>>;
+    setAnswers: React.Dispatch<React.SetStateAction<string[]>>;
     currentQuestionIndex: number;
     setCurrentQuestionIndex: React.Dispatch<React.SetStateAction<number>>;
     setShowWinAnimation: React.Dispatch<React.SetStateAction<boolean>>;
@@ -34,6 +35,14 @@ export default function Game(props: Readonly<GameProps>) {
         setIsCorrect(isAnswerCorrect);
         setShowSolution(true);
 
+        // the server scores the game again from these answers
+        const answerIndex = props.currentQuestionIndex;
+        props.setAnswers(prev => {
+            const next = [...prev];
+            next[answerIndex] = userInput;
+            return next;
+        });
+
         if (!isAnswerCorrect) {
             props.setWrongAnswerCount(prev => prev + 1);
         }
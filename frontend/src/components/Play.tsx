@@ -1,5 +1,5 @@
 import type { QuestionModel } from "./model/QuestionModel.ts";
-import type { HighScoreModel } from "./model/HighScoreModel.ts";
+import type { GameResult, GameStart } from "./model/GameModel.ts";
 import Preview from "./Preview.tsx";
 import Game from "./Game.tsx";
 import {useEffect, useMemo, useRef, useState} from "react";
@@ -13,7 +13,6 @@ import axios from "axios";
 type PlayProps = {
     user: string;
     allActiveQuestions: QuestionModel[];
-    highScore: HighScoreModel[];
     getHighScore: () => void;
 };
 
@@ -24,6 +23,8 @@ export default function Play(props: Readonly<PlayProps>) {
     const [gameFinished, setGameFinished] = useState(true);
     const [intervalId, setIntervalId] = useState<number | null>(null);
     const [currentQuestions, setCurrentQuestions] = useState<QuestionModel[]>([]);
+    const [gameId, setGameId] = useState<string | null>(null);
+    const [answers, setAnswers] = useState<string[]>([]);
     const [categoryEnum, setCategoryEnum] = useState<CategoryWithRandom>("RANDOM");
     const [wrongAnswerCount, setWrongAnswerCount] = useState(0);
     const [currentQuestionIndex, setCurrentQuestionIndex] = useState(0);
@@ -60,23 +61,6 @@ export default function Play(props: Readonly<PlayProps>) {
         [props.allActiveQuestions]
     );
 
-    function shuffle<T>(arr: T[]): T[] {
-        const a = [...arr];
-        for (let i = a.length - 1; i > 0; i--) {
-            const j = Math.floor(Math.random() * (i + 1));
-            [a[i], a[j]] = [a[j], a[i]];
-        }
-        return a;
-    }
-
-    function selectQuestions(category: CategoryWithRandom): QuestionModel[] {
-        const filtered =
-            category === "RANDOM"
-                ? props.allActiveQuestions
-                : props.allActiveQuestions.filter((q) => q.categoryEnum === category);
-        return shuffle(filtered).slice(0, 10);
-    }
-
     const getWinClass = () => {
         if (wrongAnswerCount === 0) return "win-animation win-animation-perfect";
         if (wrongAnswerCount <= 2) return "win-animation win-animation-good";
@@ -106,10 +90,12 @@ export default function Play(props: Readonly<PlayProps>) {
             date: new Date(Date.now() + 2 * 60 * 60 * 1000).toISOString()
         }
 
-        axios.post("/api/high-score", highScoreData)
+        // time and mistakes are taken from the game on the server, the rest only names the score
+        axios.post("/api/high-score", highScoreData, { params: { gameId } })
             .then(() => {
                 setShowNameInput(false);
                 setIsNewHighScore(false);
+                props.getHighScore();
             })
             .catch((error) => {
                 console.error("Error saving high score:", error);
@@ -118,26 +104,17 @@ export default function Play(props: Readonly<PlayProps>) {
             })
     }
 
-    function checkForHighScore() {
-        props.getHighScore();
-        const highScores = props.highScore;
-
-        if (highScores.length < 10) {
-            setIsNewHighScore(true);
-            setShowNameInput(true);
-            return;
-        }
-
-        const lastScore = highScores[highScores.length - 1];
-
-        const isBetterScore =
-            wrongAnswerCount < lastScore.wrongAnswerCount ||
-            (wrongAnswerCount === lastScore.wrongAnswerCount && time < lastScore.scoreTime);
-
-        if (isBetterScore) {
-            setIsNewHighScore(true);
-            setShowNameInput(true);
-        }
+    function finishGame() {
+        axios.post<GameResult>(`/api/game/${gameId}/finish`, { answers })
+            .then((response) => {
+                if (response.data.qualifies) {
+                    setIsNewHighScore(true);
+                    setShowNameInput(true);
+                }
+            })
+            .catch((error) => {
+                console.error("Error finishing game:", error);
+            })
     }
 
     useEffect(() => {
@@ -148,28 +125,39 @@ export default function Play(props: Readonly<PlayProps>) {
 
 
     useEffect(() => {
-        if (gameFinished && currentQuestionIndex === 9) {
-            checkForHighScore();
+        if (gameFinished && gameId && currentQuestions.length > 0
+            && currentQuestionIndex === currentQuestions.length - 1) {
+            finishGame();
         }
     }, [gameFinished]);
 
     function handleStartGame() {
-        setCurrentQuestionIndex(0);
-        setWrongAnswerCount(0);
-        setIsNewHighScore(false);
-        setShowNameInput(false);
-        setShowWinAnimation(false);
-        setTime(0);
-        setResetSignal((prev) => prev + 1);
-
-        const selected = selectQuestions(categoryEnum);
-        setCurrentQuestions(selected);
+        axios.post<GameStart>("/api/game/start", { categoryEnum })
+            .then((response) => {
+                setGameId(response.data.gameId);
+                setCurrentQuestions(response.data.questions);
+                setAnswers([]);
+                setCurrentQuestionIndex(0);
+                setWrongAnswerCount(0);
+                setIsNewHighScore(false);
+                setShowNameInput(false);
+                setShowWinAnimation(false);
+                setTime(0);
+                setResetSignal((prev) => prev + 1);
 
-        setShowPreviewMode(false);
-        setGameFinished(false);
+                setShowPreviewMode(false);
+                setGameFinished(false);
+            })
+            .catch((error) => {
+                console.error("Error starting game:", error);
+                setPopupMessage(error.response?.data?.message ?? "The game could not be started. Please try again.");
+                setShowPopup(true);
+            })
     }
 
+    // same game on the server, so its clock keeps running
     function handleResetCurrentQuiz() {
+        setAnswers([]);
         setCurrentQuestionIndex(0);
         setWrongAnswerCount(0);
         setTime(0);
@@ -187,6 +175,8 @@ export default function Play(props: Readonly<PlayProps>) {
         setTime(0);
         setIsNewHighScore(false);
         setCurrentQuestions([]);
+        setGameId(null);
+        setAnswers([]);
         setWrongAnswerCount(0);
         setCurrentQuestionIndex(0);
         setCategoryEnum("RANDOM");
@@ -217,8 +207,8 @@ export default function Play(props: Readonly<PlayProps>) {
 
             {!showPreviewMode && (
                 <div className="space-between">
-                    <p>Question Index {currentQuestionIndex + 1}/10</p>
-                    <p>Mistakes {wrongAnswerCount}/10</p>
+                    <p>Question Index {currentQuestionIndex + 1}/{currentQuestions.length}</p>
+                    <p>Mistakes {wrongAnswerCount}/{currentQuestions.length}</p>
                     {/*<p>⏱️ Time: {time.toFixed(1)} sec</p>*/}
                     <div>
                         <img
@@ -337,7 +327,7 @@ export default function Play(props: Readonly<PlayProps>) {
 
             {!showPreviewMode &&
                 currentQuestions &&
-                currentQuestions.length > 0 && <Game currentQuestions={currentQuestions} setGameFinished={setGameFinished} setWrongAnswerCount={setWrongAnswerCount} currentQuestionIndex={currentQuestionIndex} setCurrentQuestionIndex={setCurrentQuestionIndex} setShowWinAnimation={setShowWinAnimation} resetSignal={resetSignal} handleStartGame={handleStartGame}/>}
+                currentQuestions.length > 0 && <Game currentQuestions={currentQuestions} setGameFinished={setGameFinished} setWrongAnswerCount={setWrongAnswerCount} setAnswers={setAnswers} currentQuestionIndex={currentQuestionIndex} setCurrentQuestionIndex={setCurrentQuestionIndex} setShowWinAnimation={setShowWinAnimation} resetSignal={resetSignal} handleStartGame={handleStartGame}/>}
         </>
     );
 }
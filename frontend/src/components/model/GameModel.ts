@@ -0,0 +1,17 @@
+import type { QuestionModel } from "./QuestionModel.ts";
+
+export type GameStart = {
+    gameId: string;
+    categoryEnum: string;
+    questions: QuestionModel[];
+}
+
+export type GameResult = {
+    gameId: string;
+    categoryEnum: string;
+    wrongAnswerCount: number;
+    scoreTime: number;
+    rank: number;
+    qualifies: boolean;
+    highScoreId: string | null;
+}